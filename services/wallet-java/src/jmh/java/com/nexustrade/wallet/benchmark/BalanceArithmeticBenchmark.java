@@ -0,0 +1,122 @@
+package com.nexustrade.wallet.benchmark;
+
+import com.nexustrade.wallet.application.service.WalletService;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Balance arithmetic in isolation. The database applies the delta itself, so the service-level
+ * benchmarks run {@link WalletService} against in-memory ports that do the same sum and guard;
+ * the rest measures the scale-4 operations every request pays for.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceArithmeticBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    private WalletService walletService;
+    private Wallet wallet;
+    private BigDecimal balance;
+    private BigDecimal amount;
+    private BigDecimal requested;
+
+    @Setup
+    public void setUp() {
+        wallet = Wallet.builder()
+                .id(1L)
+                .userId(USER_ID)
+                .balance(new BigDecimal("1000000.0000"))
+                .held(BigDecimal.ZERO.setScale(4))
+                .currency("USD")
+                .build();
+        balance = wallet.getBalance();
+        amount = new BigDecimal("12.3400");
+        requested = new BigDecimal("12.34");
+
+        UnitOfWorkPort unitOfWork = new UnitOfWorkPort() {
+            @Override
+            public <T> T execute(Supplier<T> work) {
+                return work.get();
+            }
+        };
+        SaveWalletPort saveWallet = new SaveWalletPort() {
+            @Override
+            public Wallet saveWallet(Wallet saved) {
+                return saved;
+            }
+
+            @Override
+            public Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta) {
+                BigDecimal next = wallet.getBalance().add(delta);
+                BigDecimal nextHeld = wallet.getHeld().add(heldDelta);
+                if (next.signum() < 0 || nextHeld.signum() < 0) {
+                    return Optional.empty();
+                }
+                wallet.setBalance(next);
+                wallet.setHeld(nextHeld);
+                return Optional.of(wallet);
+            }
+        };
+        walletService = new WalletService(
+                userId -> Optional.of(wallet),
+                saveWallet,
+                transaction -> transaction,
+                null,
+                unitOfWork,
+                null,
+                null,
+                (saved, transaction) -> { },
+                event -> { },
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Wallet withdrawThenDeposit() {
+        walletService.withdraw(USER_ID, amount);
+        return walletService.deposit(USER_ID, amount);
+    }
+
+    @Benchmark
+    public BigDecimal addAndGuard() {
+        BigDecimal next = balance.add(amount.negate());
+        return next.signum() < 0 ? balance : next;
+    }
+
+    @Benchmark
+    public int compareToZero() {
+        return amount.compareTo(BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public BigDecimal normalizeRequestScale() {
+        return requested.setScale(4, RoundingMode.UNNECESSARY);
+    }
+
+    @Benchmark
+    public String formatBalance() {
+        return balance.stripTrailingZeros().toPlainString();
+    }
+}
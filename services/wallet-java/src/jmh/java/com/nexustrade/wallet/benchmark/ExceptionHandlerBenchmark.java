@@ -0,0 +1,61 @@
+package com.nexustrade.wallet.benchmark;
+
+import com.nexustrade.wallet.infrastructure.adapter.web.GlobalExceptionHandler;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.ErrorPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error responses through the public handlers, which all end in {@code buildResponse}. Business
+ * rejections such as "Insufficient funds" take this path on every failed withdrawal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private IllegalArgumentException badRequest;
+    private IllegalArgumentException conflict;
+    private IllegalStateException unexpected;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("POST", "/v1/wallets/internal/withdraw");
+        badRequest = new IllegalArgumentException("Insufficient funds");
+        conflict = new IllegalArgumentException("User with this email already exists");
+        unexpected = new IllegalStateException("Wallet not found for user");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorPayload> badRequest() {
+        return handler.handleIllegalArgument(badRequest, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorPayload> conflict() {
+        return handler.handleIllegalArgument(conflict, request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorPayload> unexpected() {
+        return handler.handleGeneral(unexpected, request);
+    }
+}
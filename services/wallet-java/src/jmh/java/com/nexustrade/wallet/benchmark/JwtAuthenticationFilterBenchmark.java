@@ -0,0 +1,106 @@
+package com.nexustrade.wallet.benchmark;
+
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
+import com.nexustrade.wallet.infrastructure.security.JwtAuthenticationFilter;
+import com.nexustrade.wallet.infrastructure.security.JwtProviderAdapter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The security filter end to end on one request, with an in-memory user lookup instead of the
+ * database. "legacy" tokens lack the user id claim and take the lookup fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"current", "legacy"})
+    public String token;
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).email("bench@nexustrade.com").fullName("Benchmark User").build();
+        JwtProviderAdapter provider = new JwtProviderAdapter(JwtBenchmark.SECRET, 86_400_000L, verifiedCacheSize, new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(provider, new StubLoadUserPort(user));
+
+        String jwt = "legacy".equals(token)
+                ? Jwts.builder()
+                        .setSubject(user.getEmail())
+                        .setIssuedAt(new Date())
+                        .setExpiration(new Date(System.currentTimeMillis() + 86_400_000L))
+                        .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtBenchmark.SECRET)), SignatureAlgorithm.HS256)
+                        .compact()
+                : provider.generateToken(user);
+        authorization = "Bearer " + jwt;
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/wallets/me");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private record StubLoadUserPort(User user) implements LoadUserPort {
+        @Override
+        public Optional<User> loadUserByEmail(String email) {
+            return user.getEmail().equals(email) ? Optional.of(user) : Optional.empty();
+        }
+
+        @Override
+        public List<User> loadUsersByEmails(Collection<String> emails) {
+            return emails.contains(user.getEmail()) ? List.of(user) : List.of();
+        }
+
+        @Override
+        public Optional<User> loadUserById(Long id) {
+            return user.getId().equals(id) ? Optional.of(user) : Optional.empty();
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return user.getEmail().equals(email);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.nexustrade.wallet.benchmark;
+
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.model.VerifiedToken;
+import com.nexustrade.wallet.infrastructure.security.JwtProviderAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification. "verifiedCacheSize=0" measures the full HMAC + claims parse
+ * path; the default size measures a client re-sending the same token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtProviderAdapter provider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        provider = new JwtProviderAdapter(SECRET, 86_400_000L, verifiedCacheSize, new SimpleMeterRegistry());
+        user = User.builder().id(1L).email("bench@nexustrade.com").build();
+        token = provider.generateToken(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verify() {
+        return provider.verifyToken(token);
+    }
+}
@@ -0,0 +1,94 @@
+package com.nexustrade.wallet.benchmark;
+
+import com.nexustrade.wallet.WalletApplication;
+import com.nexustrade.wallet.application.service.AuthService;
+import com.nexustrade.wallet.application.service.WalletService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA wallet adapter with the in-memory ledger engine on the internal
+ * withdraw/deposit path. Needs the Postgres instance from application.yml (or
+ * SPRING_DATASOURCE_URL); each trial registers fresh users so runs do not interfere.
+ * "wallets=1" models a burst of fills against one hot account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(8)
+public class WalletMutationBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.0000");
+
+    @Param({"jpa", "ledger-engine"})
+    public String adapter;
+
+    @Param({"1", "64"})
+    public int wallets;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private Long[] userIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(WalletApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.properties.hibernate.show_sql=false",
+                        "wallet.ledger.journal-dir=target/jmh-ledger");
+        if ("ledger-engine".equals(adapter)) {
+            builder.profiles("ledger-engine");
+        }
+        context = builder.run();
+        walletService = context.getBean(WalletService.class);
+
+        AuthService authService = context.getBean(AuthService.class);
+        userIds = new Long[wallets];
+        for (int i = 0; i < wallets; i++) {
+            String email = "bench-" + UUID.randomUUID() + "@nexustrade.com";
+            userIds[i] = authService.register(email, "benchmarkPassword", "Benchmark User").getId();
+            walletService.deposit(userIds[i], new BigDecimal("1000000"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object withdrawThenDeposit() {
+        Long userId = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        walletService.withdraw(userId, AMOUNT);
+        return walletService.deposit(userId, AMOUNT);
+    }
+
+    @Benchmark
+    public Object readWallet() {
+        Long userId = userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+        return walletService.getMyWallet(userId);
+    }
+}
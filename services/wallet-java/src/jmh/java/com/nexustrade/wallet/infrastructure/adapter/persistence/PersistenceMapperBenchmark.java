@@ -0,0 +1,101 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.TransactionEntity;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.UserEntity;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.WalletEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/domain mapping in the wallet, transaction and user adapters, i.e. the per-row cost paid on
+ * top of the query. Lives in the adapters' package because the mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceMapperBenchmark {
+
+    private WalletPersistenceAdapter walletAdapter;
+    private TransactionPersistenceAdapter transactionAdapter;
+    private UserPersistenceAdapter userAdapter;
+
+    private WalletEntity walletEntity;
+    private Wallet wallet;
+    private TransactionEntity transactionEntity;
+    private Transaction transaction;
+    private UserEntity userEntity;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // Repositories are never touched by the mappers
+        walletAdapter = new WalletPersistenceAdapter(null, null, new SimpleMeterRegistry());
+        transactionAdapter = new TransactionPersistenceAdapter(null, null, null);
+        userAdapter = new UserPersistenceAdapter(null);
+
+        LocalDateTime now = LocalDateTime.now();
+        walletEntity = WalletEntity.builder()
+                .id(1L).userId(1L).balance(new BigDecimal("10500.5000")).held(new BigDecimal("250.0000"))
+                .currency("USD").updatedAt(now).build();
+        wallet = walletAdapter.toDomain(walletEntity);
+        transactionEntity = TransactionEntity.builder()
+                .id(42L).walletId(1L).amount(new BigDecimal("100.0000"))
+                .type(TransactionType.DEPOSIT).status(TransactionStatus.COMPLETED).createdAt(now).build();
+        transaction = transactionAdapter.toDomain(transactionEntity);
+        userEntity = UserEntity.builder()
+                .id(1L).email("bench@nexustrade.com").passwordHash("$2a$10$abcdefghijklmnopqrstuv")
+                .fullName("Benchmark User").createdAt(now).build();
+        user = userAdapter.toDomain(userEntity);
+    }
+
+    @Benchmark
+    public Wallet walletToDomain() {
+        return walletAdapter.toDomain(walletEntity);
+    }
+
+    @Benchmark
+    public WalletEntity walletToEntity() {
+        return walletAdapter.toEntity(wallet);
+    }
+
+    @Benchmark
+    public Transaction transactionToDomain() {
+        return transactionAdapter.toDomain(transactionEntity);
+    }
+
+    @Benchmark
+    public TransactionEntity transactionToEntity() {
+        return transactionAdapter.toEntity(transaction);
+    }
+
+    @Benchmark
+    public User userToDomain() {
+        return userAdapter.toDomain(userEntity);
+    }
+
+    @Benchmark
+    public UserEntity userToEntity() {
+        return userAdapter.toEntity(user);
+    }
+}
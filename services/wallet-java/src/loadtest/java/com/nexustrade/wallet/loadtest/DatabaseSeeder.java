@@ -0,0 +1,56 @@
+package com.nexustrade.wallet.loadtest;
+
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.port.output.PasswordEncoderPort;
+import com.nexustrade.wallet.domain.port.output.TokenProviderPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Inserts the load-test users and wallets in two set-based statements instead of going through
+ * registration, which would spend a BCrypt hash per user. Seeding is idempotent, so a local
+ * database can be reused between runs.
+ */
+final class DatabaseSeeder {
+    static final String PASSWORD = "loadTestPassword";
+
+    private static final String EMAIL_PATTERN = "load-%@nexustrade.com";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000000");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoderPort passwordEncoder;
+    private final TokenProviderPort tokenProvider;
+
+    DatabaseSeeder(JdbcTemplate jdbcTemplate, PasswordEncoderPort passwordEncoder, TokenProviderPort tokenProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenProvider = tokenProvider;
+    }
+
+    List<SeededUser> seed(int users) {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password_hash, full_name)
+                SELECT 'load-' || g || '@nexustrade.com', ?, 'Load User ' || g
+                FROM generate_series(1, ?) g
+                ON CONFLICT (email) DO UPDATE SET password_hash = EXCLUDED.password_hash
+                """, passwordEncoder.encode(PASSWORD), users);
+        jdbcTemplate.update("""
+                INSERT INTO wallets (user_id, balance, currency)
+                SELECT id, ?, 'USD' FROM users WHERE email LIKE ?
+                ON CONFLICT (user_id) DO UPDATE SET balance = GREATEST(wallets.balance, EXCLUDED.balance)
+                """, INITIAL_BALANCE, EMAIL_PATTERN);
+
+        // Tokens are issued directly; the login endpoint is measured as an operation of its own
+        return jdbcTemplate.query(
+                "SELECT id, email FROM users WHERE email LIKE ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> {
+                    long id = rs.getLong("id");
+                    String email = rs.getString("email");
+                    User user = User.builder().id(id).email(email).build();
+                    return new SeededUser(id, email, tokenProvider.generateToken(user));
+                },
+                EMAIL_PATTERN, users);
+    }
+}
@@ -0,0 +1,106 @@
+package com.nexustrade.wallet.loadtest;
+
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model generator: requests are scheduled at a fixed arrival rate whatever the response
+ * times, and each latency is measured from the request's scheduled start. A slow server therefore
+ * shows up as higher latency instead of a quietly lower request rate. When more than
+ * {@code maxInFlight} requests are outstanding, new arrivals are counted as dropped.
+ */
+final class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final List<SeededUser> users;
+    private final Operation[] schedule;
+    private final int maxInFlight;
+
+    LoadGenerator(HttpClient client, URI baseUrl, List<SeededUser> users, Map<Operation, Integer> mix, int maxInFlight) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.maxInFlight = maxInFlight;
+
+        List<Operation> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    LoadResult run(double rate, Duration duration) {
+        Map<Operation, Recorder> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : schedule) {
+            latencies.computeIfAbsent(operation, o -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.computeIfAbsent(operation, o -> new LongAdder());
+        }
+        LongAdder dropped = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rate));
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduled = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                scheduled++;
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                SeededUser user = users.get(random.nextInt(users.size()));
+                long intendedStart = intended;
+                executor.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(operation.request(baseUrl, user).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.get(operation).increment();
+                        }
+                    } catch (Exception e) {
+                        errors.get(operation).increment();
+                    } finally {
+                        latencies.get(operation).recordValue(Math.min(HIGHEST_TRACKABLE_MICROS,
+                                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart)));
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Operation, LoadResult.OperationResult> results = new EnumMap<>(Operation.class);
+        latencies.forEach((operation, recorder) -> results.put(operation,
+                LoadResult.OperationResult.of(recorder.getIntervalHistogram(), errors.get(operation).sum(), elapsed)));
+        return new LoadResult(rate, elapsed, scheduled, dropped.sum(), results);
+    }
+}
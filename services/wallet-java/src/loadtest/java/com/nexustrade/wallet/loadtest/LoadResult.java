@@ -0,0 +1,90 @@
+package com.nexustrade.wallet.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of one measured run. Latencies are in milliseconds and are taken from each request's
+ * scheduled start, so they include any delay before the client managed to send it.
+ */
+record LoadResult(
+        double offeredRate,
+        Duration elapsed,
+        long scheduled,
+        long dropped,
+        Map<Operation, OperationResult> operations
+) {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    long completed() {
+        return operations.values().stream().mapToLong(OperationResult::count).sum();
+    }
+
+    long errors() {
+        return operations.values().stream().mapToLong(OperationResult::errors).sum();
+    }
+
+    double achievedRate() {
+        return completed() / seconds(elapsed);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nOffered %.1f req/s for %s: %d scheduled, %d completed (%.1f req/s), %d dropped, %d errors%n",
+                offeredRate, elapsed, scheduled, completed(), achievedRate(), dropped, errors());
+        out.printf("%-14s %9s %9s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        operations.forEach((operation, result) -> out.printf("%-14s %9d %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                operation.label(), result.count(), result.errors(), result.throughput(),
+                result.percentiles().get("p50"), result.percentiles().get("p90"),
+                result.percentiles().get("p99"), result.percentiles().get("p99.9"), result.max()));
+    }
+
+    /**
+     * Shape written to the JSON report.
+     */
+    Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("offeredRate", offeredRate);
+        report.put("achievedRate", achievedRate());
+        report.put("elapsedSeconds", seconds(elapsed));
+        report.put("scheduled", scheduled);
+        report.put("completed", completed());
+        report.put("dropped", dropped);
+        report.put("errors", errors());
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        operations.forEach((operation, result) -> byOperation.put(operation.label(), result));
+        report.put("operations", byOperation);
+        return report;
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+
+    record OperationResult(long count, long errors, double throughput, double mean, double max,
+                           Map<String, Double> percentiles) {
+
+        static OperationResult of(Histogram micros, long errors, Duration elapsed) {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                String label = "p" + (percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile));
+                percentiles.put(label, millis(micros.getValueAtPercentile(percentile)));
+            }
+            return new OperationResult(
+                    micros.getTotalCount(),
+                    errors,
+                    micros.getTotalCount() / seconds(elapsed),
+                    micros.getMean() / 1000.0,
+                    millis(micros.getMaxValue()),
+                    percentiles);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
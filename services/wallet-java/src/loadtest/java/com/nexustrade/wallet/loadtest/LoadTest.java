@@ -0,0 +1,116 @@
+package com.nexustrade.wallet.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.nexustrade.wallet.WalletApplication;
+import com.nexustrade.wallet.domain.port.output.PasswordEncoderPort;
+import com.nexustrade.wallet.domain.port.output.TokenProviderPort;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the wallet service against an embedded Postgres (or the database given with
+ * {@code --jdbc-url}), seeds users and drives a weighted mix of endpoints at a fixed arrival rate.
+ * Everything runs in one JVM and needs no network access once the dependencies are resolved.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        EmbeddedPostgres embedded = null;
+        String jdbcUrl = options.jdbcUrl();
+        if (jdbcUrl == null) {
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+        }
+
+        try (ConfigurableApplicationContext context = start(options, jdbcUrl)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUrl = URI.create("http://localhost:" + port);
+
+            DatabaseSeeder seeder = new DatabaseSeeder(
+                    context.getBean(JdbcTemplate.class),
+                    context.getBean(PasswordEncoderPort.class),
+                    context.getBean(TokenProviderPort.class));
+            List<SeededUser> users = seeder.seed(options.users());
+            System.out.printf("Seeded %d users, mix %s%n", users.size(), options.mix());
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadGenerator generator = new LoadGenerator(client, baseUrl, users, options.mix(), options.maxInFlight());
+
+            if (!options.warmup().isZero()) {
+                System.out.printf("Warming up for %s%n", options.warmup());
+                generator.run(options.rate(), options.warmup());
+            }
+            System.out.printf("Measuring for %s at %.1f req/s%n", options.duration(), options.rate());
+            LoadResult result = generator.run(options.rate(), options.duration());
+
+            result.print(System.out);
+            writeReport(options, users.size(), result);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options, String jdbcUrl) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("server.port", "0");
+        settings.put("spring.datasource.url", jdbcUrl);
+        settings.put("spring.datasource.username", options.jdbcUsername());
+        settings.put("spring.datasource.password", options.jdbcPassword());
+        settings.put("spring.jpa.properties.hibernate.show_sql", "false");
+        // Every simulated user shares one address; pass --wallet.auth.login-limits.enabled=true to measure the limiter
+        settings.put("wallet.auth.login-limits.enabled", "false");
+        settings.put("logging.level.com.nexustrade.wallet", "WARN");
+
+        // Passed as command line arguments: default properties would lose to application.yml
+        List<String> args = new ArrayList<>(options.applicationArgs());
+        settings.forEach((name, value) -> {
+            if (args.stream().noneMatch(arg -> arg.startsWith("--" + name + "="))) {
+                args.add("--" + name + "=" + value);
+            }
+        });
+        return new SpringApplicationBuilder(WalletApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void writeReport(LoadTestOptions options, int users, LoadResult result) throws IOException {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((operation, weight) -> mix.put(operation.label(), weight));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", users);
+        report.put("mix", mix);
+        report.put("applicationArgs", options.applicationArgs());
+        report.putAll(result.toReport());
+
+        if (options.report().getParent() != null) {
+            Files.createDirectories(options.report().getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(options.report().toFile(), report);
+        System.out.printf("Report written to %s%n", options.report().toAbsolutePath());
+    }
+}
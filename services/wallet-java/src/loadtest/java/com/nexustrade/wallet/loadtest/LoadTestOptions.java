@@ -0,0 +1,98 @@
+package com.nexustrade.wallet.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options, all given as {@code --name=value}. Anything not recognised here is passed
+ * on to the application, so {@code --wallet.group-commit.enabled=true} configures the service
+ * under test.
+ */
+record LoadTestOptions(
+        int users,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        int maxInFlight,
+        String jdbcUrl,
+        String jdbcUsername,
+        String jdbcPassword,
+        Path report,
+        List<String> applicationArgs
+) {
+    static final String DEFAULT_MIX = "login:1,wallet:4,transactions:3,withdraw:1,deposit:1";
+
+    static LoadTestOptions parse(String[] args) {
+        int users = 1000;
+        double rate = 200;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        Map<Operation, Integer> mix = parseMix(DEFAULT_MIX);
+        int maxInFlight = 1000;
+        String jdbcUrl = null;
+        String jdbcUsername = "postgres";
+        String jdbcPassword = "postgres";
+        Path report = Path.of("target", "loadtest-report.json");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "users" -> users = Integer.parseInt(value);
+                case "rate" -> rate = Double.parseDouble(value);
+                case "duration" -> duration = Duration.parse(value);
+                case "warmup" -> warmup = Duration.parse(value);
+                case "mix" -> mix = parseMix(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "jdbc-url" -> jdbcUrl = value;
+                case "jdbc-username" -> jdbcUsername = value;
+                case "jdbc-password" -> jdbcPassword = value;
+                case "report" -> report = Path.of(value);
+                default -> applicationArgs.add(arg);
+            }
+        }
+
+        if (users < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("--max-in-flight must be at least 1");
+        }
+        return new LoadTestOptions(users, rate, duration, warmup, mix, maxInFlight,
+                jdbcUrl, jdbcUsername, jdbcPassword, report, List.copyOf(applicationArgs));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation:weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                mix.put(Operation.fromName(parts[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one operation with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,84 @@
+package com.nexustrade.wallet.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The endpoints a load test can mix. Balance changes use equal small amounts on wallets seeded
+ * with a large balance, so withdrawals do not start failing during a long run.
+ */
+enum Operation {
+    LOGIN("login") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, SeededUser user) {
+            return post(baseUrl, "/v1/auth/login",
+                    "{\"email\":\"" + user.email() + "\",\"password\":\"" + DatabaseSeeder.PASSWORD + "\"}");
+        }
+    },
+    WALLET("wallet") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, SeededUser user) {
+            return authenticated(baseUrl, "/v1/wallets/me", user).GET();
+        }
+    },
+    TRANSACTIONS("transactions") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, SeededUser user) {
+            return authenticated(baseUrl, "/v1/wallets/me/transactions?page=0&size=20", user).GET();
+        }
+    },
+    WITHDRAW("withdraw") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, SeededUser user) {
+            return post(baseUrl, "/v1/wallets/internal/withdraw", balanceChange(user));
+        }
+    },
+    DEPOSIT("deposit") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, SeededUser user) {
+            return post(baseUrl, "/v1/wallets/internal/deposit", balanceChange(user));
+        }
+    };
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String AMOUNT = "1.00";
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    abstract HttpRequest.Builder request(URI baseUrl, SeededUser user);
+
+    static Operation fromName(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(name.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + name
+                        + " (expected one of " + Arrays.stream(values()).map(Operation::label).toList() + ")"));
+    }
+
+    private static HttpRequest.Builder authenticated(URI baseUrl, String path, SeededUser user) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + user.token());
+    }
+
+    private static HttpRequest.Builder post(URI baseUrl, String path, String json) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private static String balanceChange(SeededUser user) {
+        return "{\"email\":\"" + user.email() + "\",\"amount\":" + AMOUNT + "}";
+    }
+}
@@ -0,0 +1,4 @@
+package com.nexustrade.wallet.loadtest;
+
+record SeededUser(long id, String email, String token) {
+}
@@ -5,7 +5,9 @@ import com.nexustrade.wallet.domain.model.Wallet;
 import com.nexustrade.wallet.domain.port.input.LoginUseCase;
 import com.nexustrade.wallet.domain.port.input.RegisterUserUseCase;
 import com.nexustrade.wallet.domain.port.output.*;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -13,14 +15,17 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService implements RegisterUserUseCase, LoginUseCase {
     private final LoadUserPort loadUserPort;
     private final SaveUserPort saveUserPort;
     private final SaveWalletPort saveWalletPort;
     private final PasswordEncoderPort passwordEncoderPort;
     private final TokenProviderPort tokenProviderPort;
+    private final UnitOfWorkPort unitOfWorkPort;
 
     @Override
+    @Timed(value = "wallet.usecase", extraTags = {"usecase", "register"})
     public User register(String email, String password, String fullName) {
         if (loadUserPort.existsByEmail(email)) {
             throw new IllegalArgumentException("User with this email already exists");
@@ -32,20 +37,25 @@ public class AuthService implements RegisterUserUseCase, LoginUseCase {
                 .fullName(fullName)
                 .build();
 
-        User savedUser = saveUserPort.saveUser(user);
+        // Hashing stays outside the transaction; the user and wallet rows are then flushed together
+        return unitOfWorkPort.execute(() -> {
+            User savedUser = saveUserPort.saveUser(user);
 
-        // Create initial wallet
-        Wallet wallet = Wallet.builder()
-                .userId(savedUser.getId())
-                .balance(BigDecimal.ZERO)
-                .currency("USD")
-                .build();
-        saveWalletPort.saveWallet(wallet);
+            // Create initial wallet
+            Wallet wallet = Wallet.builder()
+                    .userId(savedUser.getId())
+                    .balance(BigDecimal.ZERO)
+                    .held(BigDecimal.ZERO)
+                    .currency("USD")
+                    .build();
+            saveWalletPort.saveWallet(wallet);
 
-        return savedUser;
+            return savedUser;
+        });
     }
 
     @Override
+    @Timed(value = "wallet.usecase", extraTags = {"usecase", "login"})
     public String login(String email, String password) {
         User user = loadUserPort.loadUserByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
@@ -53,7 +63,25 @@ public class AuthService implements RegisterUserUseCase, LoginUseCase {
         if (!passwordEncoderPort.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid credentials");
         }
+        if (passwordEncoderPort.needsRehash(user.getPasswordHash())) {
+            rehash(user, password);
+        }
 
         return tokenProviderPort.generateToken(user);
     }
+
+    private void rehash(User user, String password) {
+        // Best effort: the login already succeeded, a failed upgrade is retried on the next one
+        try {
+            saveUserPort.saveUser(User.builder()
+                    .id(user.getId())
+                    .email(user.getEmail())
+                    .passwordHash(passwordEncoderPort.encode(password))
+                    .fullName(user.getFullName())
+                    .createdAt(user.getCreatedAt())
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Could not upgrade the password hash of user {}", user.getId(), e);
+        }
+    }
 }
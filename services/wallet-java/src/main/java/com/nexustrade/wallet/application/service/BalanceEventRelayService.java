@@ -0,0 +1,86 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+import com.nexustrade.wallet.domain.port.input.RelayBalanceEventsUseCase;
+import com.nexustrade.wallet.domain.port.output.DrainBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.BalanceEventPublisherPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves balance-changed events from the outbox to every publisher, in bean order. Relays on
+ * several instances share the work through SKIP LOCKED, so events of one wallet keep their order
+ * only within a batch; consumers should order by event id.
+ */
+@Service
+public class BalanceEventRelayService implements RelayBalanceEventsUseCase {
+    private final DrainBalanceEventPort drainPort;
+    private final List<BalanceEventPublisherPort> publishers;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTimer;
+    private final Timer lag;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public BalanceEventRelayService(DrainBalanceEventPort drainPort, List<BalanceEventPublisherPort> publishers,
+                                    MeterRegistry meterRegistry) {
+        this.drainPort = drainPort;
+        this.publishers = publishers;
+        this.published = Counter.builder("wallet.outbox.published")
+                .description("Balance-changed events handed to the publishers")
+                .register(meterRegistry);
+        this.failures = Counter.builder("wallet.outbox.failures")
+                .description("Batches a publisher rejected; their events stay in the outbox")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("wallet.outbox.publish")
+                .description("Time to publish one batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("wallet.outbox.lag")
+                .description("Time from the balance change to its event being published")
+                .register(meterRegistry);
+        TimeGauge.builder("wallet.outbox.oldest.age", oldestPendingMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unpublished event, as of the last relay run")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int relayBatch(int limit) {
+        int relayed;
+        try {
+            relayed = drainPort.drain(limit, this::publish);
+        } catch (RuntimeException e) {
+            failures.increment();
+            throw e;
+        }
+        if (relayed < limit) {
+            refreshOldestPending();
+        }
+        return relayed;
+    }
+
+    private void publish(List<BalanceChangedEvent> events) {
+        // A failure in any publisher leaves the batch for the next run, so all of them see it at least once
+        publishTimer.record(() -> publishers.forEach(publisher -> publisher.publish(events)));
+        LocalDateTime now = LocalDateTime.now();
+        for (BalanceChangedEvent event : events) {
+            lag.record(Duration.between(event.getOccurredAt(), now));
+        }
+        published.increment(events.size());
+    }
+
+    private void refreshOldestPending() {
+        LocalDateTime now = LocalDateTime.now();
+        oldestPendingMillis.set(drainPort.oldestPendingAt()
+                .map(oldest -> Math.max(0, Duration.between(oldest, now).toMillis()))
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,84 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.AggregatePeriod;
+import com.nexustrade.wallet.domain.model.BalanceSnapshot;
+import com.nexustrade.wallet.domain.model.PeriodTotals;
+import com.nexustrade.wallet.domain.model.TransactionAggregate;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.model.WalletSummary;
+import com.nexustrade.wallet.domain.port.input.GetBalanceAtUseCase;
+import com.nexustrade.wallet.domain.port.input.GetWalletSummaryUseCase;
+import com.nexustrade.wallet.domain.port.output.LoadBalanceHistoryPort;
+import com.nexustrade.wallet.domain.port.output.LoadTransactionAggregatePort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceHistoryService implements GetBalanceAtUseCase, GetWalletSummaryUseCase {
+    private final LoadWalletPort loadWalletPort;
+    private final LoadBalanceHistoryPort loadBalanceHistoryPort;
+    private final LoadTransactionAggregatePort loadTransactionAggregatePort;
+
+    @Override
+    public BalanceSnapshot getBalanceAt(Long userId, LocalDateTime at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Point in time is required");
+        }
+        Wallet wallet = loadWalletPort.loadWalletByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("Wallet not found for user"));
+
+        return BalanceSnapshot.builder()
+                .walletId(wallet.getId())
+                .balance(loadBalanceHistoryPort.loadBalanceAt(wallet.getId(), at))
+                .currency(wallet.getCurrency())
+                .at(at)
+                .build();
+    }
+
+    @Override
+    public WalletSummary getMySummary(Long userId) {
+        Wallet wallet = loadWalletPort.loadWalletByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("Wallet not found for user"));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<TransactionAggregate> aggregates = loadTransactionAggregatePort.loadAggregates(wallet.getId(), today);
+
+        return WalletSummary.builder()
+                .walletId(wallet.getId())
+                .currency(wallet.getCurrency())
+                .date(today)
+                .today(totals(aggregates, AggregatePeriod.DAY))
+                .thisMonth(totals(aggregates, AggregatePeriod.MONTH))
+                .allTime(totals(aggregates, AggregatePeriod.ALL))
+                .build();
+    }
+
+    private PeriodTotals totals(List<TransactionAggregate> aggregates, AggregatePeriod period) {
+        PeriodTotals totals = PeriodTotals.builder().deposited(BigDecimal.ZERO).withdrawn(BigDecimal.ZERO).build();
+        for (TransactionAggregate aggregate : aggregates) {
+            if (aggregate.getPeriod() != period) {
+                continue;
+            }
+            switch (aggregate.getType()) {
+                case DEPOSIT -> {
+                    totals.setDeposited(totals.getDeposited().add(aggregate.getAmount()));
+                    totals.setDeposits(totals.getDeposits() + aggregate.getCount());
+                }
+                case WITHDRAW, CAPTURE -> {
+                    totals.setWithdrawn(totals.getWithdrawn().add(aggregate.getAmount()));
+                    totals.setWithdrawals(totals.getWithdrawals() + aggregate.getCount());
+                }
+                // Holds and releases only move funds between available and held
+                default -> { }
+            }
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,114 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+import com.nexustrade.wallet.domain.model.BulkCreditStatus;
+import com.nexustrade.wallet.domain.port.input.BulkCreditUseCase;
+import com.nexustrade.wallet.domain.port.output.BulkCreditPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Credits many wallets from one upload. The upload is staged synchronously; chunks are then applied
+ * one job at a time on a background thread, so a large promotion does not compete with itself
+ * for wallet row locks. Not available with the ledger engine, whose in-memory balances would
+ * overwrite set-based updates.
+ */
+@Service
+@Profile("!ledger-engine")
+@Slf4j
+public class BulkCreditService implements BulkCreditUseCase {
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    private final BulkCreditPort bulkCreditPort;
+    private final int chunkSize;
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("bulk-credit").daemon().factory());
+
+    public BulkCreditService(
+            BulkCreditPort bulkCreditPort,
+            @Value("${wallet.bulk-credit.chunk-size:1000}") int chunkSize
+    ) {
+        this.bulkCreditPort = bulkCreditPort;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkCreditJob submit(InputStream upload, BulkCreditFormat format) {
+        BulkCreditJob job = bulkCreditPort.createJob();
+        BulkCreditJob staged;
+        try {
+            staged = bulkCreditPort.stage(job.getId(), upload, format);
+        } catch (RuntimeException e) {
+            bulkCreditPort.fail(job.getId(), "Upload could not be staged");
+            throw e;
+        }
+        log.info("Bulk credit job {} staged {} of {} lines", staged.getId(), staged.getStagedRows(), staged.getTotalRows());
+        applier.execute(() -> apply(staged.getId()));
+        return staged;
+    }
+
+    @Override
+    public Optional<BulkCreditJob> getJob(Long jobId) {
+        return bulkCreditPort.loadJob(jobId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void resumeInterruptedJobs() {
+        for (Long jobId : bulkCreditPort.loadJobIds(BulkCreditStatus.APPLYING)) {
+            log.info("Resuming bulk credit job {}", jobId);
+            applier.execute(() -> apply(jobId));
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        applier.shutdownNow();
+    }
+
+    private void apply(Long jobId) {
+        try {
+            int chunks = 0;
+            while (applyChunk(jobId)) {
+                if (++chunks % 10 == 0) {
+                    bulkCreditPort.loadJob(jobId).ifPresent(job -> log.info("Bulk credit job {}: {} of {} staged lines applied",
+                            jobId, job.getAppliedRows(), job.getStagedRows()));
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    // Shutting down; progress is committed per chunk and the job resumes on next start
+                    return;
+                }
+            }
+            bulkCreditPort.complete(jobId);
+            log.info("Bulk credit job {} completed", jobId);
+        } catch (RuntimeException e) {
+            log.error("Bulk credit job {} failed", jobId, e);
+            bulkCreditPort.fail(jobId, "Credits could not be applied");
+        }
+    }
+
+    private boolean applyChunk(Long jobId) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return bulkCreditPort.applyNextChunk(jobId, chunkSize);
+            } catch (PessimisticLockingFailureException e) {
+                // Deadlock or lock timeout against regular mutations; the chunk rolled back as a whole
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Bulk credit job {} chunk hit a lock conflict, retrying", jobId, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.*;
+import com.nexustrade.wallet.domain.port.input.ReserveFundsUseCase;
+import com.nexustrade.wallet.domain.port.output.LoadHoldPort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveHoldPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FundsReservationService implements ReserveFundsUseCase {
+    private final LoadWalletPort loadWalletPort;
+    private final SaveWalletPort saveWalletPort;
+    private final LoadHoldPort loadHoldPort;
+    private final SaveHoldPort saveHoldPort;
+    private final SaveTransactionPort saveTransactionPort;
+    private final SaveBalanceCheckpointPort saveBalanceCheckpointPort;
+    private final SaveBalanceEventPort saveBalanceEventPort;
+    private final UnitOfWorkPort unitOfWorkPort;
+
+    @Override
+    public FundsHold hold(Long userId, BigDecimal amount, Duration ttl) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Hold amount must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Hold expiry must be in the future");
+        }
+
+        return unitOfWorkPort.execute(() -> {
+            // Moves the amount from available to held in the same conditional UPDATE
+            Wallet wallet = saveWalletPort.applyBalanceDelta(userId, amount.negate(), amount)
+                    .orElseThrow(() -> {
+                        loadWalletPort.loadWalletByUserId(userId, ReadConsistency.FRESH)
+                                .orElseThrow(() -> new IllegalStateException("Wallet not found for user"));
+                        return new IllegalArgumentException("Insufficient funds");
+                    });
+
+            FundsHold hold = saveHoldPort.saveHold(FundsHold.builder()
+                    .walletId(wallet.getId())
+                    .userId(userId)
+                    .amount(amount)
+                    .status(HoldStatus.ACTIVE)
+                    .expiresAt(LocalDateTime.now().plus(ttl))
+                    .build());
+            recordTransaction(wallet, amount, TransactionType.HOLD);
+            return hold;
+        });
+    }
+
+    @Override
+    public Wallet capture(Long holdId) {
+        return unitOfWorkPort.execute(() -> {
+            FundsHold hold = claim(holdId, HoldStatus.CAPTURED);
+            Wallet wallet = saveWalletPort.applyBalanceDelta(hold.getUserId(), BigDecimal.ZERO, hold.getAmount().negate())
+                    .orElseThrow(() -> new IllegalStateException("Held funds are out of sync for hold " + holdId));
+            recordTransaction(wallet, hold.getAmount(), TransactionType.CAPTURE);
+            return wallet;
+        });
+    }
+
+    @Override
+    public Wallet release(Long holdId) {
+        return unitOfWorkPort.execute(() -> returnToAvailable(claim(holdId, HoldStatus.RELEASED)));
+    }
+
+    @Override
+    public int expireHolds(int limit) {
+        List<FundsHold> expired = loadHoldPort.loadExpiredHolds(LocalDateTime.now(), limit);
+        int count = 0;
+        for (FundsHold hold : expired) {
+            try {
+                boolean released = unitOfWorkPort.execute(() -> {
+                    // Another instance, or a concurrent capture/release, may have claimed it first
+                    if (!saveHoldPort.transitionHold(hold.getId(), HoldStatus.ACTIVE, HoldStatus.EXPIRED)) {
+                        return false;
+                    }
+                    returnToAvailable(hold);
+                    return true;
+                });
+                if (released) {
+                    count++;
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to expire hold {}", hold.getId(), e);
+            }
+        }
+        return count;
+    }
+
+    private FundsHold claim(Long holdId, HoldStatus target) {
+        FundsHold hold = loadHoldPort.loadHold(holdId)
+                .orElseThrow(() -> new IllegalArgumentException("Hold not found"));
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalArgumentException("Hold is no longer active");
+        }
+        // An expired hold may still be released before the sweep gets to it, but never captured
+        LocalDateTime now = LocalDateTime.now();
+        boolean claimed = target == HoldStatus.CAPTURED
+                ? saveHoldPort.transitionUnexpiredHold(holdId, HoldStatus.ACTIVE, target, now)
+                : saveHoldPort.transitionHold(holdId, HoldStatus.ACTIVE, target);
+        if (!claimed) {
+            throw new IllegalArgumentException(target == HoldStatus.CAPTURED && !hold.getExpiresAt().isAfter(now)
+                    ? "Hold has expired" : "Hold is no longer active");
+        }
+        hold.setStatus(target);
+        return hold;
+    }
+
+    private Wallet returnToAvailable(FundsHold hold) {
+        Wallet wallet = saveWalletPort.applyBalanceDelta(hold.getUserId(), hold.getAmount(), hold.getAmount().negate())
+                .orElseThrow(() -> new IllegalStateException("Held funds are out of sync for hold " + hold.getId()));
+        recordTransaction(wallet, hold.getAmount(), TransactionType.RELEASE);
+        return wallet;
+    }
+
+    private void recordTransaction(Wallet wallet, BigDecimal amount, TransactionType type) {
+        Transaction saved = saveTransactionPort.saveTransaction(Transaction.builder()
+                .walletId(wallet.getId())
+                .amount(amount)
+                .type(type)
+                .status(TransactionStatus.COMPLETED)
+                .build());
+        saveBalanceCheckpointPort.saveCheckpoint(wallet, saved);
+        saveBalanceEventPort.saveEvent(BalanceChangedEvent.of(wallet, saved));
+    }
+}
@@ -4,81 +4,228 @@ import com.nexustrade.wallet.domain.model.*;
 import com.nexustrade.wallet.domain.port.input.DepositUseCase;
 import com.nexustrade.wallet.domain.port.input.GetTransactionsUseCase;
 import com.nexustrade.wallet.domain.port.input.GetWalletUseCase;
+import com.nexustrade.wallet.domain.port.input.SettleBatchUseCase;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
 import com.nexustrade.wallet.domain.port.output.LoadTransactionPort;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
 import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
 import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
 import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class WalletService implements GetWalletUseCase, DepositUseCase, GetTransactionsUseCase {
+@Slf4j
+public class WalletService implements GetWalletUseCase, DepositUseCase, GetTransactionsUseCase, SettleBatchUseCase {
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final String USE_CASE_TIMER = "wallet.usecase";
+    private static final String RETRIES = "wallet.mutation.retries";
+
     private final LoadWalletPort loadWalletPort;
     private final SaveWalletPort saveWalletPort;
     private final SaveTransactionPort saveTransactionPort;
     private final LoadTransactionPort loadTransactionPort;
+    private final UnitOfWorkPort unitOfWorkPort;
+    private final LoadUserPort loadUserPort;
+    private final IdempotencyPort idempotencyPort;
+    private final SaveBalanceCheckpointPort saveBalanceCheckpointPort;
+    private final SaveBalanceEventPort saveBalanceEventPort;
+    private final MeterRegistry meterRegistry;
 
     @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "getMyWallet"})
     public Wallet getMyWallet(Long userId) {
-        return loadWalletPort.loadWalletByUserId(userId)
+        return getMyWallet(userId, ReadConsistency.CACHED);
+    }
+
+    @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "getMyWallet"})
+    public Wallet getMyWallet(Long userId, ReadConsistency consistency) {
+        return loadWalletPort.loadWalletByUserId(userId, consistency)
                 .orElseThrow(() -> new IllegalStateException("Wallet not found for user"));
     }
 
     @Override
-    @Transactional
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "deposit"})
     public Wallet deposit(Long userId, BigDecimal amount) {
+        return deposit(userId, amount, null);
+    }
+
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "deposit"})
+    public Wallet deposit(Long userId, BigDecimal amount, IdempotentRequest idempotency) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive");
         }
 
+        return executeOnce(idempotency, () -> applyMutation(userId, amount, TransactionType.DEPOSIT));
+    }
+
+    @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "getMyTransactions"})
+    public Page<Transaction> getMyTransactions(Long userId, Pageable pageable) {
         Wallet wallet = getMyWallet(userId);
-        wallet.setBalance(wallet.getBalance().add(amount));
-        Wallet savedWallet = saveWalletPort.saveWallet(wallet);
+        return loadTransactionPort.loadTransactionsByWalletId(wallet.getId(), pageable);
+    }
 
-        Transaction transaction = Transaction.builder()
-                .walletId(wallet.getId())
-                .amount(amount)
-                .type(TransactionType.DEPOSIT)
-                .status(TransactionStatus.COMPLETED)
-                .build();
-        saveTransactionPort.saveTransaction(transaction);
+    @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "getMyTransactions"})
+    public Page<Transaction> getMyTransactions(Long userId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Wallet wallet = getMyWallet(userId);
+        return loadTransactionPort.loadTransactionsByWalletId(wallet.getId(), from, to, pageable);
+    }
 
-        return savedWallet;
+    @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "getMyTransactions"})
+    public TransactionSlice getMyTransactions(Long userId, TransactionCursor after, int limit) {
+        if (limit < 1 || limit > MAX_SLICE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+        Wallet wallet = getMyWallet(userId);
+
+        // One extra row tells whether another page exists without a COUNT(*)
+        List<Transaction> transactions = loadTransactionPort.loadTransactionsByWalletId(wallet.getId(), after, limit + 1);
+        if (transactions.size() <= limit) {
+            return TransactionSlice.builder().transactions(transactions).build();
+        }
+
+        List<Transaction> page = transactions.subList(0, limit);
+        Transaction last = page.get(limit - 1);
+        return TransactionSlice.builder()
+                .transactions(page)
+                .next(TransactionCursor.builder().createdAt(last.getCreatedAt()).id(last.getId()).build())
+                .build();
     }
 
     @Override
-    public Page<Transaction> getMyTransactions(Long userId, Pageable pageable) {
+    public void exportMyTransactions(Long userId, Consumer<Transaction> sink) {
         Wallet wallet = getMyWallet(userId);
-        return loadTransactionPort.loadTransactionsByWalletId(wallet.getId(), pageable);
+        loadTransactionPort.streamTransactionsByWalletId(wallet.getId(), sink);
     }
 
-    @Transactional
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "withdraw"})
     public Wallet withdraw(Long userId, BigDecimal amount) {
+        return withdraw(userId, amount, null);
+    }
+
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "withdraw"})
+    public Wallet withdraw(Long userId, BigDecimal amount, IdempotentRequest idempotency) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive");
         }
 
-        Wallet wallet = getMyWallet(userId);
-        if (wallet.getBalance().compareTo(amount) < 0) {
-            throw new IllegalArgumentException("Insufficient funds");
+        return executeOnce(idempotency, () -> applyMutation(userId, amount.negate(), TransactionType.WITHDRAW));
+    }
+
+    @Override
+    @Timed(value = USE_CASE_TIMER, extraTags = {"usecase", "settle"})
+    public List<BalanceOperationResult> settle(List<BalanceOperation> operations) {
+        List<String> emails = operations.stream()
+                .map(BalanceOperation::getEmail)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, Long> userIds = loadUserPort.loadUsersByEmails(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, User::getId));
+
+        try {
+            return unitOfWorkPort.execute(() -> operations.stream()
+                    .map(operation -> settleOne(operation, userIds))
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} operations failed as a whole, settling them one by one", operations.size(), e);
+            meterRegistry.counter(RETRIES, "reason", "batch-split").increment(operations.size());
+            return operations.stream()
+                    .map(operation -> {
+                        try {
+                            return unitOfWorkPort.execute(() -> settleOne(operation, userIds));
+                        } catch (RuntimeException individual) {
+                            return BalanceOperationResult.failed("Operation could not be applied");
+                        }
+                    })
+                    .toList();
+        }
+    }
+
+    private BalanceOperationResult settleOne(BalanceOperation operation, Map<String, Long> userIds) {
+        try {
+            Long userId = userIds.get(operation.getEmail());
+            if (userId == null) {
+                throw new IllegalStateException("User not found");
+            }
+            if (operation.getAmount() == null || operation.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Amount must be positive");
+            }
+
+            BigDecimal delta = switch (operation.getType()) {
+                case DEPOSIT -> operation.getAmount();
+                case WITHDRAW -> operation.getAmount().negate();
+                case null, default -> throw new IllegalArgumentException("Unsupported operation type");
+            };
+            return BalanceOperationResult.succeeded(applyMutation(userId, delta, operation.getType()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return BalanceOperationResult.failed(e.getMessage());
         }
+    }
+
+    private Wallet executeOnce(IdempotentRequest idempotency, Supplier<Wallet> mutation) {
+        if (idempotency == null) {
+            return unitOfWorkPort.execute(mutation);
+        }
+
+        try {
+            // The key is stored in the same transaction as the mutation, so a retry either sees
+            // the committed result or waits on the in-flight insert of the same key
+            return unitOfWorkPort.execute(() -> idempotencyPort.loadResult(idempotency).orElseGet(() -> {
+                Wallet wallet = mutation.get();
+                idempotencyPort.saveResult(idempotency, wallet);
+                return wallet;
+            }));
+        } catch (DuplicateKeyException e) {
+            meterRegistry.counter(RETRIES, "reason", "idempotency-conflict").increment();
+            return idempotencyPort.loadResult(idempotency)
+                    .orElseThrow(() -> new IllegalStateException("Concurrent request with the same idempotency key failed"));
+        }
+    }
 
-        wallet.setBalance(wallet.getBalance().subtract(amount));
-        Wallet savedWallet = saveWalletPort.saveWallet(wallet);
+    private Wallet applyMutation(Long userId, BigDecimal delta, TransactionType type) {
+        Wallet savedWallet = saveWalletPort.applyBalanceDelta(userId, delta)
+                .orElseThrow(() -> {
+                    // No row updated: either the wallet is missing (getMyWallet throws) or the guard rejected it
+                    getMyWallet(userId, ReadConsistency.FRESH);
+                    return new IllegalArgumentException("Insufficient funds");
+                });
 
         Transaction transaction = Transaction.builder()
-                .walletId(wallet.getId())
-                .amount(amount)
-                .type(TransactionType.WITHDRAW)
+                .walletId(savedWallet.getId())
+                .amount(delta.abs())
+                .type(type)
                 .status(TransactionStatus.COMPLETED)
                 .build();
-        saveTransactionPort.saveTransaction(transaction);
+        Transaction savedTransaction = saveTransactionPort.saveTransaction(transaction);
+        saveBalanceCheckpointPort.saveCheckpoint(savedWallet, savedTransaction);
+        saveBalanceEventPort.saveEvent(BalanceChangedEvent.of(savedWallet, savedTransaction));
 
         return savedWallet;
     }
@@ -0,0 +1,20 @@
+package com.nexustrade.wallet.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * The request was turned away to protect shared capacity and may be retried after
+ * {@link #getRetryAfter()}.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
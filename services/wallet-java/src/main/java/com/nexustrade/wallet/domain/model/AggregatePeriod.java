@@ -0,0 +1,7 @@
+package com.nexustrade.wallet.domain.model;
+
+public enum AggregatePeriod {
+    DAY,
+    MONTH,
+    ALL
+}
@@ -0,0 +1,42 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceChangedEvent {
+    // Outbox position; assigned on insert and increasing in insert order
+    private Long id;
+    private Long walletId;
+    private Long userId;
+    // Null with the ledger engine, which assigns transaction ids when it flushes
+    private Long transactionId;
+    private TransactionType type;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private BigDecimal held;
+    private String currency;
+    private LocalDateTime occurredAt;
+
+    public static BalanceChangedEvent of(Wallet wallet, Transaction transaction) {
+        return BalanceChangedEvent.builder()
+                .walletId(wallet.getId())
+                .userId(wallet.getUserId())
+                .transactionId(transaction.getId())
+                .type(transaction.getType())
+                .amount(transaction.getAmount())
+                .balance(wallet.getBalance())
+                .held(wallet.getHeld())
+                .currency(wallet.getCurrency())
+                .occurredAt(transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceOperation {
+    private String email;
+    private TransactionType type;
+    private BigDecimal amount;
+}
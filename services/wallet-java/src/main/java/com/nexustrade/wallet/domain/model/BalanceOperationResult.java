@@ -0,0 +1,24 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceOperationResult {
+    private boolean success;
+    private Wallet wallet;
+    private String error;
+
+    public static BalanceOperationResult succeeded(Wallet wallet) {
+        return BalanceOperationResult.builder().success(true).wallet(wallet).build();
+    }
+
+    public static BalanceOperationResult failed(String error) {
+        return BalanceOperationResult.builder().success(false).error(error).build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshot {
+    private Long walletId;
+    private BigDecimal balance;
+    private String currency;
+    private LocalDateTime at;
+}
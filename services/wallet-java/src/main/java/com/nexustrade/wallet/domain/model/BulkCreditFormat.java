@@ -0,0 +1,6 @@
+package com.nexustrade.wallet.domain.model;
+
+public enum BulkCreditFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,24 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreditJob {
+    private Long id;
+    private BulkCreditStatus status;
+    // Lines read from the upload, lines that parsed and were staged, and lines credited so far
+    private long totalRows;
+    private long stagedRows;
+    private long appliedRows;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.nexustrade.wallet.domain.model;
+
+public enum BulkCreditStatus {
+    RECEIVING,
+    APPLYING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.nexustrade.wallet.domain.model;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,16 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotentRequest {
+    private String key;
+    // Identifies the operation the key was first used for, so a reused key cannot replay a different request
+    private String fingerprint;
+}
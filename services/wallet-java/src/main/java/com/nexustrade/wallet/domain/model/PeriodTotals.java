@@ -0,0 +1,20 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodTotals {
+    private BigDecimal deposited;
+    // Funds that left the wallet: withdrawals and captured holds
+    private BigDecimal withdrawn;
+    private long deposits;
+    private long withdrawals;
+}
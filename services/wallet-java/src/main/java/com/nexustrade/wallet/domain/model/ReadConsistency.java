@@ -0,0 +1,8 @@
+package com.nexustrade.wallet.domain.model;
+
+public enum ReadConsistency {
+    /** May be served from a recent snapshot. */
+    CACHED,
+    /** Always reads the committed state from the store. */
+    FRESH
+}
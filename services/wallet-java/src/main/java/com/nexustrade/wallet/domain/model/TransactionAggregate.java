@@ -0,0 +1,19 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionAggregate {
+    private AggregatePeriod period;
+    private TransactionType type;
+    private BigDecimal amount;
+    private long count;
+}
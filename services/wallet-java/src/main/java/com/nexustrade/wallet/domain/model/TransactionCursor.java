@@ -0,0 +1,20 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in a wallet's history, newest first: the next page starts strictly after this row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionCursor {
+    private LocalDateTime createdAt;
+    private Long id;
+}
@@ -2,5 +2,8 @@ package com.nexustrade.wallet.domain.model;
 
 public enum TransactionType {
     DEPOSIT,
-    WITHDRAW
+    WITHDRAW,
+    HOLD,
+    CAPTURE,
+    RELEASE
 }
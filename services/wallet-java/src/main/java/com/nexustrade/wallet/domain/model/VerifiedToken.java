@@ -0,0 +1,19 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerifiedToken {
+    private String subject;
+    // Absent on tokens issued before the claim was added
+    private Long userId;
+    private Instant expiresAt;
+}
@@ -16,6 +16,7 @@ public class Wallet {
     private Long id;
     private Long userId;
     private BigDecimal balance;
+    private BigDecimal held;
     private String currency;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,22 @@
+package com.nexustrade.wallet.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletSummary {
+    private Long walletId;
+    private String currency;
+    // UTC day the "today" and "this month" totals refer to
+    private LocalDate date;
+    private PeriodTotals today;
+    private PeriodTotals thisMonth;
+    private PeriodTotals allTime;
+}
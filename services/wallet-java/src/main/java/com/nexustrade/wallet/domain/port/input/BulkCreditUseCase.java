@@ -0,0 +1,15 @@
+package com.nexustrade.wallet.domain.port.input;
+
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface BulkCreditUseCase {
+    /**
+     * Reads the whole upload into staging and returns; the credits are applied in the background.
+     */
+    BulkCreditJob submit(InputStream upload, BulkCreditFormat format);
+    Optional<BulkCreditJob> getJob(Long jobId);
+}
@@ -0,0 +1,9 @@
+package com.nexustrade.wallet.domain.port.input;
+
+import com.nexustrade.wallet.domain.model.BalanceSnapshot;
+
+import java.time.LocalDateTime;
+
+public interface GetBalanceAtUseCase {
+    BalanceSnapshot getBalanceAt(Long userId, LocalDateTime at);
+}
@@ -1,9 +1,17 @@
 package com.nexustrade.wallet.domain.port.input;
 
 import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionCursor;
+import com.nexustrade.wallet.domain.model.TransactionSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
 public interface GetTransactionsUseCase {
     Page<Transaction> getMyTransactions(Long userId, Pageable pageable);
+    Page<Transaction> getMyTransactions(Long userId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+    TransactionSlice getMyTransactions(Long userId, TransactionCursor after, int limit);
+    void exportMyTransactions(Long userId, Consumer<Transaction> sink);
 }
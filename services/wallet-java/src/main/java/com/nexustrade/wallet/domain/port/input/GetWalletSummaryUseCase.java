@@ -0,0 +1,7 @@
+package com.nexustrade.wallet.domain.port.input;
+
+import com.nexustrade.wallet.domain.model.WalletSummary;
+
+public interface GetWalletSummaryUseCase {
+    WalletSummary getMySummary(Long userId);
+}
@@ -1,7 +1,9 @@
 package com.nexustrade.wallet.domain.port.input;
 
+import com.nexustrade.wallet.domain.model.ReadConsistency;
 import com.nexustrade.wallet.domain.model.Wallet;
 
 public interface GetWalletUseCase {
     Wallet getMyWallet(Long userId);
+    Wallet getMyWallet(Long userId, ReadConsistency consistency);
 }
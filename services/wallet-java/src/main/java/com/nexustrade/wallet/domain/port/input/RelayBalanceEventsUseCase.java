@@ -0,0 +1,8 @@
+package com.nexustrade.wallet.domain.port.input;
+
+public interface RelayBalanceEventsUseCase {
+    /**
+     * Publishes one batch of outbox events and returns how many were published.
+     */
+    int relayBatch(int limit);
+}
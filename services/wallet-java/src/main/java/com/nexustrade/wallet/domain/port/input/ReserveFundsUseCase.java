@@ -0,0 +1,14 @@
+package com.nexustrade.wallet.domain.port.input;
+
+import com.nexustrade.wallet.domain.model.FundsHold;
+import com.nexustrade.wallet.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+public interface ReserveFundsUseCase {
+    FundsHold hold(Long userId, BigDecimal amount, Duration ttl);
+    Wallet capture(Long holdId);
+    Wallet release(Long holdId);
+    int expireHolds(int limit);
+}
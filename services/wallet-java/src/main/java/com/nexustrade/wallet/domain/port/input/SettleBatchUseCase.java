@@ -0,0 +1,10 @@
+package com.nexustrade.wallet.domain.port.input;
+
+import com.nexustrade.wallet.domain.model.BalanceOperation;
+import com.nexustrade.wallet.domain.model.BalanceOperationResult;
+
+import java.util.List;
+
+public interface SettleBatchUseCase {
+    List<BalanceOperationResult> settle(List<BalanceOperation> operations);
+}
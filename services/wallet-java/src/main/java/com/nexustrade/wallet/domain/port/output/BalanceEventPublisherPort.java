@@ -0,0 +1,13 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+
+import java.util.List;
+
+public interface BalanceEventPublisherPort {
+    /**
+     * Publishes a batch in order and returns once it is accepted downstream; throwing leaves the
+     * whole batch in the outbox. Delivery is at least once, so consumers deduplicate by event id.
+     */
+    void publish(List<BalanceChangedEvent> events);
+}
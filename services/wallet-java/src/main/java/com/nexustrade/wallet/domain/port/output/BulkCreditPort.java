@@ -0,0 +1,30 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+import com.nexustrade.wallet.domain.model.BulkCreditStatus;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
+public interface BulkCreditPort {
+    BulkCreditJob createJob();
+
+    /**
+     * Streams "email, amount" records into the job's staging area. Lines that do not parse are
+     * counted but not staged. Leaves the job APPLYING.
+     */
+    BulkCreditJob stage(Long jobId, InputStream upload, BulkCreditFormat format);
+
+    /**
+     * Credits the next {@code chunkSize} staged lines in one transaction, together with the job's
+     * progress, so an interrupted job resumes where it stopped. Returns false once nothing is left.
+     */
+    boolean applyNextChunk(Long jobId, int chunkSize);
+
+    void complete(Long jobId);
+    void fail(Long jobId, String error);
+    Optional<BulkCreditJob> loadJob(Long jobId);
+    List<Long> loadJobIds(BulkCreditStatus status);
+}
@@ -0,0 +1,19 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface DrainBalanceEventPort {
+    /**
+     * Claims up to {@code limit} of the oldest outbox events not claimed by another relay, passes
+     * them to {@code handler} in outbox order and removes them in the same transaction. If the
+     * handler throws, the events stay and are claimed again later.
+     */
+    int drain(int limit, Consumer<List<BalanceChangedEvent>> handler);
+
+    Optional<LocalDateTime> oldestPendingAt();
+}
@@ -0,0 +1,11 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.IdempotentRequest;
+import com.nexustrade.wallet.domain.model.Wallet;
+
+import java.util.Optional;
+
+public interface IdempotencyPort {
+    Optional<Wallet> loadResult(IdempotentRequest request);
+    void saveResult(IdempotentRequest request, Wallet wallet);
+}
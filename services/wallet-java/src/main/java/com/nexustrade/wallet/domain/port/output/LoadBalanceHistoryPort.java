@@ -0,0 +1,8 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface LoadBalanceHistoryPort {
+    BigDecimal loadBalanceAt(Long walletId, LocalDateTime at);
+}
@@ -0,0 +1,12 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.FundsHold;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface LoadHoldPort {
+    Optional<FundsHold> loadHold(Long holdId);
+    List<FundsHold> loadExpiredHolds(LocalDateTime now, int limit);
+}
@@ -0,0 +1,13 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.TransactionAggregate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface LoadTransactionAggregatePort {
+    /**
+     * Totals per type for the UTC day {@code day}, its month and all time.
+     */
+    List<TransactionAggregate> loadAggregates(Long walletId, LocalDate day);
+}
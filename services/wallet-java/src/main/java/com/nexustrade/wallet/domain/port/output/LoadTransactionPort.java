@@ -1,9 +1,31 @@
 package com.nexustrade.wallet.domain.port.output;
 
 import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface LoadTransactionPort {
     Page<Transaction> loadTransactionsByWalletId(Long walletId, Pageable pageable);
+
+    /**
+     * Same as the unbounded variant restricted to {@code [from, to)}; either bound may be null.
+     */
+    Page<Transaction> loadTransactionsByWalletId(Long walletId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    /**
+     * Newest-first transactions of the wallet that come strictly after {@code after}, or from the
+     * most recent one when {@code after} is null.
+     */
+    List<Transaction> loadTransactionsByWalletId(Long walletId, TransactionCursor after, int limit);
+
+    /**
+     * Pushes every transaction of the wallet, newest first, to {@code consumer} as rows are read,
+     * without materialising the history.
+     */
+    void streamTransactionsByWalletId(Long walletId, Consumer<Transaction> consumer);
 }
@@ -1,10 +1,13 @@
 package com.nexustrade.wallet.domain.port.output;
 
 import com.nexustrade.wallet.domain.model.User;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface LoadUserPort {
     Optional<User> loadUserByEmail(String email);
+    List<User> loadUsersByEmails(Collection<String> emails);
     Optional<User> loadUserById(Long id);
     boolean existsByEmail(String email);
 }
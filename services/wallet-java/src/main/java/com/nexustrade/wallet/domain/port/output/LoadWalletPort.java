@@ -1,8 +1,16 @@
 package com.nexustrade.wallet.domain.port.output;
 
+import com.nexustrade.wallet.domain.model.ReadConsistency;
 import com.nexustrade.wallet.domain.model.Wallet;
 import java.util.Optional;
 
 public interface LoadWalletPort {
     Optional<Wallet> loadWalletByUserId(Long userId);
+
+    /**
+     * Adapters without a cache always read the current state, so the default ignores the mode.
+     */
+    default Optional<Wallet> loadWalletByUserId(Long userId, ReadConsistency consistency) {
+        return loadWalletByUserId(userId);
+    }
 }
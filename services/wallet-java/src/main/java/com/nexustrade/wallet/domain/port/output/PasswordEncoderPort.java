@@ -3,4 +3,10 @@ package com.nexustrade.wallet.domain.port.output;
 public interface PasswordEncoderPort {
     String encode(String rawPassword);
     boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Whether a stored hash was produced with different settings than the current ones and
+     * should be replaced the next time the raw password is known.
+     */
+    boolean needsRehash(String encodedPassword);
 }
@@ -0,0 +1,12 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+
+public interface SaveBalanceCheckpointPort {
+    /**
+     * Called after each saved transaction with the wallet state it produced; the adapter decides
+     * whether this one becomes a checkpoint.
+     */
+    void saveCheckpoint(Wallet wallet, Transaction transaction);
+}
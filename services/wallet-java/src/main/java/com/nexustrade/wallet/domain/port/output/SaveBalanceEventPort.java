@@ -0,0 +1,11 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+
+public interface SaveBalanceEventPort {
+    /**
+     * Adds the event to the outbox. Must run inside the unit of work of the mutation it describes,
+     * so the event commits or rolls back with it.
+     */
+    void saveEvent(BalanceChangedEvent event);
+}
@@ -0,0 +1,20 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import com.nexustrade.wallet.domain.model.FundsHold;
+import com.nexustrade.wallet.domain.model.HoldStatus;
+
+import java.time.LocalDateTime;
+
+public interface SaveHoldPort {
+    FundsHold saveHold(FundsHold hold);
+
+    /**
+     * Moves the hold from one status to another; returns false if it was no longer in {@code from}.
+     */
+    boolean transitionHold(Long holdId, HoldStatus from, HoldStatus to);
+
+    /**
+     * Same as {@link #transitionHold}, but also returns false if the hold had expired at {@code now}.
+     */
+    boolean transitionUnexpiredHold(Long holdId, HoldStatus from, HoldStatus to, LocalDateTime now);
+}
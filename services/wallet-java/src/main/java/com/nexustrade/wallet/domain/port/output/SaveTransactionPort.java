@@ -1,9 +1,17 @@
 package com.nexustrade.wallet.domain.port.output;
 
 import com.nexustrade.wallet.domain.model.Transaction;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+
+import java.util.List;
 
 public interface SaveTransactionPort {
     Transaction saveTransaction(Transaction transaction);
+
+    /**
+     * Saves several transactions at once, returned in the same order with their ids. Adapters
+     * without a bulk path save them one by one.
+     */
+    default List<Transaction> saveTransactions(List<Transaction> transactions) {
+        return transactions.stream().map(this::saveTransaction).toList();
+    }
 }
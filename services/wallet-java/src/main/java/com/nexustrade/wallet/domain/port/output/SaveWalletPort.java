@@ -2,6 +2,23 @@ package com.nexustrade.wallet.domain.port.output;
 
 import com.nexustrade.wallet.domain.model.Wallet;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+
 public interface SaveWalletPort {
     Wallet saveWallet(Wallet wallet);
+
+    /**
+     * Atomically adds a signed delta to the user's balance. Returns empty when the wallet
+     * does not exist or the resulting balance would be negative.
+     */
+    default Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta) {
+        return applyBalanceDelta(userId, delta, BigDecimal.ZERO);
+    }
+
+    /**
+     * Same as {@link #applyBalanceDelta(Long, BigDecimal)}, also moving the held amount; neither
+     * the available balance nor the held amount may become negative.
+     */
+    Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta);
 }
@@ -1,9 +1,17 @@
 package com.nexustrade.wallet.domain.port.output;
 
 import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.model.VerifiedToken;
+
+import java.util.Optional;
 
 public interface TokenProviderPort {
     String generateToken(User user);
     String getUsernameFromToken(String token);
     boolean validateToken(String token);
+
+    /**
+     * Checks signature and expiry and returns the claims in one pass; empty if the token is not valid.
+     */
+    Optional<VerifiedToken> verifyToken(String token);
 }
@@ -0,0 +1,12 @@
+package com.nexustrade.wallet.domain.port.output;
+
+import java.util.function.Supplier;
+
+public interface UnitOfWorkPort {
+    /**
+     * Runs the work inside a database transaction and returns its result once committed. If the
+     * work throws, none of its writes are committed. Implementations may share one transaction
+     * between several callers and re-run the work in a transaction of its own after a rollback.
+     */
+    <T> T execute(Supplier<T> work);
+}
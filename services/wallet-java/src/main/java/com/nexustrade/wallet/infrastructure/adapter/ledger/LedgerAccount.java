@@ -0,0 +1,35 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Wallet;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+record LedgerAccount(Long walletId, Long userId, BigDecimal balance, BigDecimal held, String currency,
+                     LocalDateTime updatedAt) {
+
+    static LedgerAccount from(Wallet wallet) {
+        return new LedgerAccount(wallet.getId(), wallet.getUserId(), wallet.getBalance(),
+                wallet.getHeld() != null ? wallet.getHeld() : BigDecimal.ZERO, wallet.getCurrency(), wallet.getUpdatedAt());
+    }
+
+    static LedgerAccount from(LedgerRecord record) {
+        return new LedgerAccount(record.walletId(), record.userId(), record.balanceAfter(),
+                record.heldAfter(), record.currency(), record.timestamp());
+    }
+
+    LedgerAccount withBalance(BigDecimal newBalance, BigDecimal newHeld, LocalDateTime now) {
+        return new LedgerAccount(walletId, userId, newBalance, newHeld, currency, now);
+    }
+
+    Wallet toWallet() {
+        return Wallet.builder()
+                .id(walletId)
+                .userId(userId)
+                .balance(balance)
+                .held(held)
+                .currency(currency)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
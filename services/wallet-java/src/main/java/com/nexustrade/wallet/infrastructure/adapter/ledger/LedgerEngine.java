@@ -0,0 +1,215 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.TransactionPersistenceAdapter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.stream.Stream;
+
+/**
+ * In-memory, single-writer balance engine. Wallets are partitioned across shards by wallet id,
+ * every mutation is journaled before it is acknowledged, and a background flusher copies journaled
+ * records into {@code wallets} and {@code transactions}. The last flushed sequence of each shard is
+ * stored in {@code ledger_flush_checkpoints} in the same database transaction, so replay after a
+ * restart skips everything the database already has.
+ */
+@Component
+@Profile("ledger-engine")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerEngine {
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE wallets SET balance = ?, held = ?, updated_at = ? WHERE id = ?";
+    private static final String UPSERT_CHECKPOINT_SQL = """
+            INSERT INTO ledger_flush_checkpoints (shard, last_seq, updated_at)
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (shard) DO UPDATE SET last_seq = EXCLUDED.last_seq, updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionPersistenceAdapter transactionPersistenceAdapter;
+
+    @Value("${wallet.ledger.shards:8}")
+    private int shardCount;
+
+    @Value("${wallet.ledger.journal-dir:./data/ledger}")
+    private String journalDir;
+
+    @Value("${wallet.ledger.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    @Value("${wallet.ledger.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    private LedgerShard[] shards;
+    private List<LedgerRecord>[] pendingFlush;
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    void start() throws IOException {
+        Path directory = Paths.get(journalDir);
+        Files.createDirectories(directory);
+
+        Map<Integer, Long> checkpoints = new HashMap<>();
+        jdbcTemplate.query("SELECT shard, last_seq FROM ledger_flush_checkpoints",
+                rs -> { checkpoints.put(rs.getInt("shard"), rs.getLong("last_seq")); });
+        rejectMisroutedJournals(directory, checkpoints);
+
+        shards = new LedgerShard[shardCount];
+        pendingFlush = new List[shardCount];
+        int replayed = 0;
+        for (int i = 0; i < shardCount; i++) {
+            LedgerJournal journal = new LedgerJournal(directory, i, segmentSize.toBytes());
+            shards[i] = new LedgerShard(i, journal);
+            replayed += shards[i].restore(journal.replay(), checkpoints.getOrDefault(i, 0L));
+            pendingFlush[i] = new ArrayList<>();
+        }
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "ledger-flusher"));
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Ledger engine started with {} shards in {}, {} journal records pending flush",
+                shardCount, directory.toAbsolutePath(), replayed);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+        flush();
+        log.info("Ledger engine stopped");
+    }
+
+    Optional<LedgerAccount> account(Long walletId) {
+        return shardFor(walletId).account(walletId);
+    }
+
+    CompletableFuture<Optional<LedgerAccount>> apply(Wallet seed, BigDecimal delta, BigDecimal heldDelta) {
+        return shardFor(seed.getId()).apply(seed, delta, heldDelta);
+    }
+
+    CompletableFuture<Optional<LedgerAccount>> compensate(Wallet seed, BigDecimal delta, BigDecimal heldDelta) {
+        return shardFor(seed.getId()).compensate(seed, delta, heldDelta);
+    }
+
+    CompletableFuture<Optional<LedgerAccount>> set(Wallet seed, BigDecimal balance) {
+        return shardFor(seed.getId()).set(seed, balance);
+    }
+
+    CompletableFuture<Transaction> record(Transaction transaction) {
+        return shardFor(transaction.getWalletId()).record(transaction);
+    }
+
+    void flush() {
+        for (LedgerShard shard : shards) {
+            List<LedgerRecord> pending = pendingFlush[shard.index()];
+            shard.drainUnflushed(pending);
+            if (pending.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(shard.index(), pending));
+                shard.markFlushed(pending.get(pending.size() - 1).seq());
+                pending.clear();
+            } catch (RuntimeException e) {
+                log.warn("Ledger flush of shard {} failed, {} records will be retried", shard.index(), pending.size(), e);
+            }
+        }
+    }
+
+    private void write(int shardIndex, List<LedgerRecord> records) {
+        Map<Long, LedgerRecord> latestBalances = new LinkedHashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (LedgerRecord record : records) {
+            if (record.kind() == LedgerRecord.Kind.MUTATION) {
+                latestBalances.put(record.walletId(), record);
+            } else {
+                transactions.add(record.toTransaction());
+            }
+        }
+        transactionPersistenceAdapter.saveTransactions(transactions);
+
+        List<Object[]> balanceUpdates = latestBalances.values().stream()
+                .map(record -> new Object[]{record.balanceAfter(), record.heldAfter(),
+                        Timestamp.valueOf(record.timestamp()), record.walletId()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, balanceUpdates);
+        jdbcTemplate.update(UPSERT_CHECKPOINT_SQL, shardIndex, records.get(records.size() - 1).seq());
+    }
+
+    private LedgerShard shardFor(Long walletId) {
+        return shards[shardIndex(walletId, shards.length)];
+    }
+
+    /**
+     * Refuses to start when a journal holds unflushed records of wallets that the configured shard
+     * count routes to another shard, i.e. after {@code wallet.ledger.shards} changed in either
+     * direction. Replaying them into the shard they were written by would give one wallet two
+     * diverging balances.
+     */
+    private void rejectMisroutedJournals(Path directory, Map<Integer, Long> checkpoints) throws IOException {
+        Set<Integer> journaled = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Matcher matcher = LedgerJournal.FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    journaled.add(Integer.parseInt(matcher.group(1)));
+                }
+            }
+        }
+        for (int index : journaled) {
+            long checkpoint = checkpoints.getOrDefault(index, 0L);
+            long misrouted;
+            try (LedgerJournal journal = new LedgerJournal(directory, index, segmentSize.toBytes())) {
+                misrouted = journal.replay().stream()
+                        .filter(record -> record.seq() > checkpoint && shardIndex(record.walletId(), shardCount) != index)
+                        .count();
+            }
+            if (misrouted > 0) {
+                throw new IllegalStateException("Journal of shard " + index + " holds " + misrouted
+                        + " unflushed records of wallets that " + shardCount + " shards route elsewhere;"
+                        + " start with the previous shard count until it has been flushed");
+            }
+        }
+    }
+
+    private static int shardIndex(long walletId, int shards) {
+        return (int) Math.floorMod(walletId, (long) shards);
+    }
+}
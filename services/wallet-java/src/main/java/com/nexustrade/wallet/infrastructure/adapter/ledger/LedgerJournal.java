@@ -0,0 +1,234 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal for a single shard, kept as numbered segment files
+ * {@code shard-<shard>-<segment>.wal}. Frames are {@code [length][crc32][payload]}; a torn or
+ * corrupt tail left by a crash is cut off on replay. A full segment is closed and a new one
+ * started between batches, and closed segments whose records have all been flushed to the
+ * database are deleted, so the journal stays bounded however busy the shard is.
+ */
+@Slf4j
+class LedgerJournal implements Closeable {
+    static final Pattern FILE_NAME = Pattern.compile("shard-(\\d+)(?:-(\\d+))?\\.wal");
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final int shard;
+    private final long segmentBytes;
+    private final Deque<Segment> closed = new ArrayDeque<>();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+    private final DataOutputStream bufferOut = new DataOutputStream(buffer);
+    private Segment active;
+
+    LedgerJournal(Path directory, int shard, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.shard = shard;
+        this.segmentBytes = segmentBytes;
+
+        // Journals written before segmentation are a single file; it becomes the first segment
+        Path unsegmented = directory.resolve("shard-" + shard + ".wal");
+        if (Files.exists(unsegmented)) {
+            Files.move(unsegmented, segmentPath(0));
+        }
+
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && Integer.parseInt(matcher.group(1)) == shard && matcher.group(2) != null) {
+                    segments.put(Long.parseLong(matcher.group(2)), file);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            active = open(0);
+            return;
+        }
+        for (var entry : segments.entrySet()) {
+            closed.add(new Segment(entry.getKey(), entry.getValue()));
+        }
+        active = closed.removeLast();
+    }
+
+    /**
+     * Reads every segment in order. Must be called once, before anything is appended.
+     */
+    List<LedgerRecord> replay() throws IOException {
+        List<LedgerRecord> records = new ArrayList<>();
+        for (Segment segment : closed) {
+            replay(segment, records);
+        }
+        replay(active, records);
+        return records;
+    }
+
+    void append(LedgerRecord record) throws IOException {
+        buffer.reset();
+        record.writeTo(bufferOut);
+        bufferOut.flush();
+        byte[] payload = buffer.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        while (frame.hasRemaining()) {
+            active.channel.write(frame);
+        }
+        active.lastSeq = record.seq();
+    }
+
+    void sync() throws IOException {
+        active.channel.force(false);
+    }
+
+    /**
+     * Bytes held by all segments.
+     */
+    long size() throws IOException {
+        long size = active.channel.size();
+        for (Segment segment : closed) {
+            size += segment.channel.size();
+        }
+        return size;
+    }
+
+    /**
+     * Write position in the current segment, to {@link #rewind} to if a batch fails.
+     */
+    long position() throws IOException {
+        return active.channel.position();
+    }
+
+    void rewind(long position) throws IOException {
+        active.channel.truncate(position);
+        active.channel.position(position);
+    }
+
+    /**
+     * Starts a new segment if the current one is full. Only call between batches, so a batch
+     * never spans two segments.
+     */
+    void rotateIfFull() throws IOException {
+        if (active.channel.size() < segmentBytes) {
+            return;
+        }
+        Segment next = open(active.number + 1);
+        // Make the new file's directory entry durable before records are acknowledged from it
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        closed.add(active);
+        active = next;
+    }
+
+    /**
+     * Deletes closed segments whose records are all at or below {@code flushedSeq}.
+     */
+    void release(long flushedSeq) throws IOException {
+        while (!closed.isEmpty() && closed.peekFirst().lastSeq <= flushedSeq) {
+            Segment segment = closed.removeFirst();
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Drops everything; only valid once every record has been flushed.
+     */
+    void reset() throws IOException {
+        release(Long.MAX_VALUE);
+        rewind(0);
+        active.channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : closed) {
+            segment.channel.close();
+        }
+        active.channel.close();
+    }
+
+    private void replay(Segment segment, List<LedgerRecord> records) throws IOException {
+        FileChannel channel = segment.channel;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        long position = 0;
+        long size = channel.size();
+
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || position + HEADER_BYTES + length > size) {
+                break;
+            }
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            LedgerRecord record = LedgerRecord.readFrom(new DataInputStream(new ByteArrayInputStream(payload.array())));
+            records.add(record);
+            segment.lastSeq = record.seq();
+            position += HEADER_BYTES + length;
+        }
+
+        if (position < size) {
+            log.warn("Truncating {} bytes of incomplete journal tail in {}", size - position, segment.path);
+            channel.truncate(position);
+        }
+        channel.position(position);
+    }
+
+    private Segment open(long number) throws IOException {
+        return new Segment(number, segmentPath(number));
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("shard-" + shard + "-" + number + ".wal");
+    }
+
+    private static final class Segment {
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+        private long lastSeq;
+
+        private Segment(long number, Path path) throws IOException {
+            this.number = number;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One journal entry. MUTATION entries carry the balance after the change so replay is idempotent;
+ * TRANSACTION entries carry the ledger row that is inserted into {@code transactions} on flush.
+ */
+record LedgerRecord(
+        long seq,
+        Kind kind,
+        long walletId,
+        long userId,
+        BigDecimal amount,
+        BigDecimal balanceAfter,
+        BigDecimal heldAfter,
+        String currency,
+        TransactionType type,
+        TransactionStatus status,
+        LocalDateTime timestamp
+) {
+    enum Kind {
+        MUTATION,
+        TRANSACTION
+    }
+
+    static LedgerRecord mutation(long seq, LedgerAccount account, BigDecimal delta) {
+        return new LedgerRecord(seq, Kind.MUTATION, account.walletId(), account.userId(), delta,
+                account.balance(), account.held(), account.currency(), null, null, account.updatedAt());
+    }
+
+    static LedgerRecord transaction(long seq, long userId, Transaction transaction) {
+        return new LedgerRecord(seq, Kind.TRANSACTION, transaction.getWalletId(), userId, transaction.getAmount(),
+                null, null, null, transaction.getType(), transaction.getStatus(), transaction.getCreatedAt());
+    }
+
+    Transaction toTransaction() {
+        return Transaction.builder()
+                .walletId(walletId)
+                .amount(amount)
+                .type(type)
+                .status(status)
+                .createdAt(timestamp)
+                .build();
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(seq);
+        out.writeByte(kind.ordinal());
+        out.writeLong(walletId);
+        out.writeLong(userId);
+        writeNullable(out, amount != null ? amount.toPlainString() : null);
+        writeNullable(out, balanceAfter != null ? balanceAfter.toPlainString() : null);
+        writeNullable(out, heldAfter != null ? heldAfter.toPlainString() : null);
+        writeNullable(out, currency);
+        writeNullable(out, type != null ? type.name() : null);
+        writeNullable(out, status != null ? status.name() : null);
+        writeNullable(out, timestamp != null ? timestamp.toString() : null);
+    }
+
+    static LedgerRecord readFrom(DataInputStream in) throws IOException {
+        long seq = in.readLong();
+        Kind kind = Kind.values()[in.readByte()];
+        long walletId = in.readLong();
+        long userId = in.readLong();
+        String amount = readNullable(in);
+        String balanceAfter = readNullable(in);
+        String heldAfter = readNullable(in);
+        String currency = readNullable(in);
+        String type = readNullable(in);
+        String status = readNullable(in);
+        String timestamp = readNullable(in);
+        return new LedgerRecord(
+                seq,
+                kind,
+                walletId,
+                userId,
+                amount != null ? new BigDecimal(amount) : null,
+                balanceAfter != null ? new BigDecimal(balanceAfter) : null,
+                heldAfter != null ? new BigDecimal(heldAfter) : null,
+                currency,
+                type != null ? TransactionType.valueOf(type) : null,
+                status != null ? TransactionStatus.valueOf(status) : null,
+                timestamp != null ? LocalDateTime.parse(timestamp) : null
+        );
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
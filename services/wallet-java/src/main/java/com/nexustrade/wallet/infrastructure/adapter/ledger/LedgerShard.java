@@ -0,0 +1,291 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns a partition of wallets. All mutations run on the shard's worker thread, so balances need
+ * no locking; readers only see immutable {@link LedgerAccount} snapshots. Commands are drained in
+ * batches and the journal is forced once per batch before any caller is acknowledged. Between
+ * batches the journal rotates full segments and drops the ones already flushed to the database.
+ */
+@Slf4j
+class LedgerShard {
+    private static final int MAX_BATCH = 512;
+    private static final long IDLE_POLL_MS = 100;
+
+    private final int index;
+    private final LedgerJournal journal;
+    private final Map<Long, LedgerAccount> accounts = new ConcurrentHashMap<>();
+    private final BlockingQueue<Command> inbox = new LinkedBlockingQueue<>();
+    private final Queue<LedgerRecord> unflushed = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private volatile long flushedSeq;
+    private long nextSeq;
+    private long lastSeq;
+
+    LedgerShard(int index, LedgerJournal journal) {
+        this.index = index;
+        this.journal = journal;
+        this.worker = Thread.ofPlatform().name("ledger-shard-" + index).unstarted(this::run);
+    }
+
+    int index() {
+        return index;
+    }
+
+    /**
+     * Rebuilds in-memory state from journal records that were not yet flushed to the database.
+     * Must be called before {@link #start()}.
+     */
+    int restore(List<LedgerRecord> records, long checkpointSeq) {
+        int replayed = 0;
+        long maxSeq = checkpointSeq;
+        for (LedgerRecord record : records) {
+            maxSeq = Math.max(maxSeq, record.seq());
+            if (record.seq() <= checkpointSeq) {
+                continue;
+            }
+            if (record.kind() == LedgerRecord.Kind.MUTATION) {
+                accounts.put(record.walletId(), LedgerAccount.from(record));
+            }
+            unflushed.add(record);
+            replayed++;
+        }
+        flushedSeq = checkpointSeq;
+        lastSeq = maxSeq;
+        nextSeq = maxSeq + 1;
+        return replayed;
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        worker.join();
+    }
+
+    Optional<LedgerAccount> account(Long walletId) {
+        return Optional.ofNullable(accounts.get(walletId));
+    }
+
+    CompletableFuture<Optional<LedgerAccount>> apply(Wallet seed, BigDecimal delta, BigDecimal heldDelta) {
+        return submit(new Apply(seed, delta, heldDelta, false, new CompletableFuture<>()));
+    }
+
+    /**
+     * Applies a delta without the non-negative guard, to undo a mutation whose database
+     * transaction rolled back.
+     */
+    CompletableFuture<Optional<LedgerAccount>> compensate(Wallet seed, BigDecimal delta, BigDecimal heldDelta) {
+        return submit(new Apply(seed, delta, heldDelta, true, new CompletableFuture<>()));
+    }
+
+    CompletableFuture<Optional<LedgerAccount>> set(Wallet seed, BigDecimal balance) {
+        return submit(new Assign(seed, balance, new CompletableFuture<>()));
+    }
+
+    CompletableFuture<Transaction> record(Transaction transaction) {
+        return submit(new Append(transaction, new CompletableFuture<>()));
+    }
+
+    /**
+     * Hands every journaled record not yet handed out to the flusher.
+     */
+    void drainUnflushed(List<LedgerRecord> into) {
+        LedgerRecord record;
+        while ((record = unflushed.poll()) != null) {
+            into.add(record);
+        }
+    }
+
+    void markFlushed(long seq) {
+        flushedSeq = Math.max(flushedSeq, seq);
+    }
+
+    private <T> CompletableFuture<T> submit(Command command) {
+        if (!running) {
+            command.future().completeExceptionally(new IllegalStateException("Ledger shard " + index + " is stopped"));
+        } else {
+            inbox.add(command);
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<T> future = (CompletableFuture<T>) command.future();
+        return future;
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !inbox.isEmpty()) {
+            try {
+                Command first = inbox.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    compactIfFlushed();
+                    continue;
+                }
+                batch.add(first);
+                inbox.drainTo(batch, MAX_BATCH - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Command> batch) {
+        Map<Long, LedgerAccount> undo = new HashMap<>();
+        List<LedgerRecord> records = new ArrayList<>(batch.size());
+        List<Runnable> acknowledgements = new ArrayList<>(batch.size());
+        long batchStartSeq = nextSeq;
+        long journalStart = -1;
+        maintainJournal();
+
+        try {
+            journalStart = journal.position();
+            LocalDateTime now = LocalDateTime.now();
+            for (Command command : batch) {
+                switch (command) {
+                    case Apply apply -> {
+                        LedgerAccount current = current(apply.seed());
+                        BigDecimal next = current.balance().add(apply.delta());
+                        BigDecimal nextHeld = current.held().add(apply.heldDelta());
+                        if (!apply.compensation() && (next.signum() < 0 || nextHeld.signum() < 0)) {
+                            acknowledgements.add(() -> apply.future().complete(Optional.empty()));
+                        } else {
+                            LedgerAccount updated = mutate(current, next, nextHeld, apply.delta(), now, undo, records);
+                            acknowledgements.add(() -> apply.future().complete(Optional.of(updated)));
+                        }
+                    }
+                    case Assign assign -> {
+                        LedgerAccount current = current(assign.seed());
+                        BigDecimal delta = assign.balance().subtract(current.balance());
+                        LedgerAccount updated = mutate(current, assign.balance(), current.held(), delta, now, undo, records);
+                        acknowledgements.add(() -> assign.future().complete(Optional.of(updated)));
+                    }
+                    case Append append -> {
+                        Transaction transaction = append.transaction();
+                        if (transaction.getCreatedAt() == null) {
+                            transaction.setCreatedAt(now);
+                        }
+                        LedgerAccount owner = accounts.get(transaction.getWalletId());
+                        long userId = owner != null ? owner.userId() : 0L;
+                        LedgerRecord record = LedgerRecord.transaction(nextSeq++, userId, transaction);
+                        journal.append(record);
+                        records.add(record);
+                        acknowledgements.add(() -> append.future().complete(transaction));
+                    }
+                }
+            }
+            journal.sync();
+        } catch (IOException | RuntimeException e) {
+            log.error("Ledger shard {} failed to journal a batch of {} commands", index, batch.size(), e);
+            undo.forEach((walletId, previous) -> {
+                if (previous == null) {
+                    accounts.remove(walletId);
+                } else {
+                    accounts.put(walletId, previous);
+                }
+            });
+            nextSeq = batchStartSeq;
+            rewindJournal(journalStart);
+            batch.forEach(command -> command.future().completeExceptionally(e));
+            return;
+        }
+
+        lastSeq = nextSeq - 1;
+        unflushed.addAll(records);
+        acknowledgements.forEach(Runnable::run);
+    }
+
+    private LedgerAccount current(Wallet seed) {
+        LedgerAccount resident = accounts.get(seed.getId());
+        return resident != null ? resident : LedgerAccount.from(seed);
+    }
+
+    private LedgerAccount mutate(LedgerAccount current, BigDecimal balance, BigDecimal held, BigDecimal delta,
+                                 LocalDateTime now, Map<Long, LedgerAccount> undo,
+                                 List<LedgerRecord> records) throws IOException {
+        if (!undo.containsKey(current.walletId())) {
+            undo.put(current.walletId(), accounts.get(current.walletId()));
+        }
+        LedgerAccount updated = current.withBalance(balance, held, now);
+        LedgerRecord record = LedgerRecord.mutation(nextSeq++, updated, delta);
+        journal.append(record);
+        accounts.put(updated.walletId(), updated);
+        records.add(record);
+        return updated;
+    }
+
+    private void rewindJournal(long position) {
+        if (position < 0) {
+            return;
+        }
+        try {
+            journal.rewind(position);
+        } catch (IOException e) {
+            log.error("Ledger shard {} could not rewind its journal to {}", index, position, e);
+        }
+    }
+
+    private void maintainJournal() {
+        try {
+            journal.release(flushedSeq);
+            journal.rotateIfFull();
+        } catch (IOException e) {
+            log.warn("Ledger shard {} could not rotate its journal", index, e);
+        }
+    }
+
+    private void compactIfFlushed() {
+        try {
+            if (lastSeq > 0 && flushedSeq >= lastSeq && journal.size() > 0) {
+                journal.reset();
+            } else {
+                journal.release(flushedSeq);
+            }
+        } catch (IOException e) {
+            log.warn("Ledger shard {} could not compact its journal", index, e);
+        }
+    }
+
+    private sealed interface Command permits Apply, Assign, Append {
+        CompletableFuture<?> future();
+    }
+
+    private record Apply(Wallet seed, BigDecimal delta, BigDecimal heldDelta, boolean compensation,
+                         CompletableFuture<Optional<LedgerAccount>> future)
+            implements Command {
+    }
+
+    private record Assign(Wallet seed, BigDecimal balance, CompletableFuture<Optional<LedgerAccount>> future)
+            implements Command {
+    }
+
+    private record Append(Transaction transaction, CompletableFuture<Transaction> future)
+            implements Command {
+    }
+}
@@ -0,0 +1,127 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.WalletPersistenceAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wallet ports backed by the ledger engine. The engine is not part of the database transaction, so
+ * inside one a balance change is undone if the transaction rolls back, and the transaction row is
+ * only journaled just before the commit. Use cases may therefore fail or be retried after a
+ * mutation without leaving it applied twice.
+ */
+@Component
+@Primary
+@Profile("ledger-engine")
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerWalletAdapter implements LoadWalletPort, SaveWalletPort, SaveTransactionPort {
+    private final LedgerEngine ledgerEngine;
+    private final WalletPersistenceAdapter walletPersistenceAdapter;
+    private final Map<Long, Long> walletIdsByUserId = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Wallet> loadWalletByUserId(Long userId) {
+        Long walletId = walletIdsByUserId.get(userId);
+        if (walletId != null) {
+            Optional<LedgerAccount> resident = ledgerEngine.account(walletId);
+            if (resident.isPresent()) {
+                return resident.map(LedgerAccount::toWallet);
+            }
+        }
+
+        // Accounts replayed from the journal are ahead of the database until the flusher catches up
+        Optional<Wallet> stored = walletPersistenceAdapter.loadWalletByUserId(userId);
+        stored.ifPresent(wallet -> walletIdsByUserId.put(userId, wallet.getId()));
+        return stored.map(wallet -> ledgerEngine.account(wallet.getId())
+                .map(LedgerAccount::toWallet)
+                .orElse(wallet));
+    }
+
+    @Override
+    public Wallet saveWallet(Wallet wallet) {
+        if (wallet.getId() == null) {
+            return walletPersistenceAdapter.saveWallet(wallet);
+        }
+        return await(ledgerEngine.set(wallet, wallet.getBalance()))
+                .map(LedgerAccount::toWallet)
+                .orElseThrow();
+    }
+
+    @Override
+    public Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta) {
+        Optional<Wallet> applied = loadWalletByUserId(userId)
+                .flatMap(seed -> await(ledgerEngine.apply(seed, delta, heldDelta)))
+                .map(LedgerAccount::toWallet);
+        applied.ifPresent(wallet -> compensateOnRollback(wallet, delta, heldDelta));
+        return applied;
+    }
+
+    @Override
+    public Transaction saveTransaction(Transaction transaction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return await(ledgerEngine.record(transaction));
+        }
+        if (transaction.getCreatedAt() == null) {
+            transaction.setCreatedAt(LocalDateTime.now());
+        }
+        // A journal failure here still rolls the database transaction back, and with it the balance change
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                await(ledgerEngine.record(transaction));
+            }
+        });
+        return transaction;
+    }
+
+    private void compensateOnRollback(Wallet wallet, BigDecimal delta, BigDecimal heldDelta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                if (status == STATUS_UNKNOWN) {
+                    log.error("Outcome of the transaction that moved {} on wallet {} is unknown, not undoing it",
+                            delta, wallet.getId());
+                    return;
+                }
+                try {
+                    await(ledgerEngine.compensate(wallet, delta.negate(), heldDelta.negate()));
+                } catch (IllegalStateException e) {
+                    log.error("Could not undo a change of {} on wallet {} after rollback", delta, wallet.getId(), e);
+                }
+            }
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Ledger engine could not journal the mutation", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.nexustrade.wallet.infrastructure.adapter.messaging;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a {@code wallet_balance} notification: the wallet state after one outbox event.
+ */
+record BalanceNotification(long eventId, long walletId, long userId, BigDecimal balance, BigDecimal held,
+                           String currency, LocalDateTime updatedAt) {
+    static final String CHANNEL = "wallet_balance";
+}
@@ -0,0 +1,118 @@
+package com.nexustrade.wallet.infrastructure.adapter.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexustrade.wallet.infrastructure.adapter.web.WalletStreamHub;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.WalletDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Receives the {@code wallet_balance} notifications of every instance on a dedicated connection,
+ * outside the pool since it is held for the application's lifetime, and hands them to the local
+ * {@link WalletStreamHub}. Notifications sent while the connection is down are lost, so after a
+ * reconnect all streams are closed and clients resubscribe from a fresh snapshot.
+ */
+@Component
+@Slf4j
+public class BalanceNotificationListener {
+    private static final int POLL_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    private final WalletStreamHub walletStreamHub;
+    private final ObjectMapper objectMapper;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Thread listener;
+
+    private volatile boolean running = true;
+
+    public BalanceNotificationListener(
+            WalletStreamHub walletStreamHub,
+            ObjectMapper objectMapper,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password
+    ) {
+        this.walletStreamHub = walletStreamHub;
+        this.objectMapper = objectMapper;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.listener = Thread.ofPlatform().name("balance-listener").daemon().unstarted(this::run);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        listener.interrupt();
+        listener.join(POLL_TIMEOUT_MS * 2L);
+    }
+
+    private void run() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + BalanceNotification.CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Balance listener reconnected, closing open wallet streams");
+                    walletStreamHub.disconnectAll();
+                }
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Balance listener lost its connection, reconnecting", e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            BalanceNotification notification = objectMapper.readValue(payload, BalanceNotification.class);
+            walletStreamHub.dispatch(notification.userId(), notification.eventId(), WalletDto.WalletDetail.builder()
+                    .id(notification.walletId())
+                    .balance(notification.balance())
+                    .held(notification.held())
+                    .currency(notification.currency())
+                    .updatedAt(notification.updatedAt())
+                    .build());
+        } catch (IOException e) {
+            log.warn("Ignoring malformed balance notification", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nexustrade.wallet.infrastructure.adapter.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+import com.nexustrade.wallet.domain.port.output.BalanceEventPublisherPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Broadcasts relayed events to every instance with NOTIFY, for the wallet streams. Runs inside the
+ * relay's transaction, so the notifications go out when the batch commits, once per batch rather
+ * than on every mutation's commit. Only the latest state of each wallet in a batch is sent.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceNotificationPublisher implements BalanceEventPublisherPort {
+    private static final String NOTIFY_SQL =
+            "SELECT pg_notify('" + BalanceNotification.CHANNEL + "', payload) FROM unnest(?::text[]) AS payload";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<BalanceChangedEvent> events) {
+        Map<Long, BalanceChangedEvent> latest = new LinkedHashMap<>();
+        for (BalanceChangedEvent event : events) {
+            latest.merge(event.getWalletId(), event, (current, next) -> next.getId() > current.getId() ? next : current);
+        }
+        String[] payloads = latest.values().stream().map(this::payload).toArray(String[]::new);
+        jdbcTemplate.query(NOTIFY_SQL,
+                statement -> statement.setArray(1, statement.getConnection().createArrayOf("text", payloads)),
+                (RowCallbackHandler) rs -> { });
+    }
+
+    private String payload(BalanceChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(new BalanceNotification(event.getId(), event.getWalletId(),
+                    event.getUserId(), event.getBalance(), event.getHeld(), event.getCurrency(), event.getOccurredAt()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize balance notification", e);
+        }
+    }
+}
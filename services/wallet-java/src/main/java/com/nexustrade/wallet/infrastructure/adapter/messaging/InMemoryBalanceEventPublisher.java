@@ -0,0 +1,43 @@
+package com.nexustrade.wallet.infrastructure.adapter.messaging;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+import com.nexustrade.wallet.domain.port.output.BalanceEventPublisherPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent published events in memory, for tests and the load-test harness.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.outbox.publisher", havingValue = "memory")
+public class InMemoryBalanceEventPublisher implements BalanceEventPublisherPort {
+    private final int capacity;
+    private final Deque<BalanceChangedEvent> events = new ArrayDeque<>();
+
+    public InMemoryBalanceEventPublisher(@Value("${wallet.outbox.memory-capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<BalanceChangedEvent> batch) {
+        for (BalanceChangedEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<BalanceChangedEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
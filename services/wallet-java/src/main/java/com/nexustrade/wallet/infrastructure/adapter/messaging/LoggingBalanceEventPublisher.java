@@ -0,0 +1,31 @@
+package com.nexustrade.wallet.infrastructure.adapter.messaging;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+import com.nexustrade.wallet.domain.port.output.BalanceEventPublisherPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default publisher until a broker adapter exists: writes each event to the log at DEBUG, so the
+ * relay does not turn every balance change into a log line unless this logger is switched on.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.outbox.publisher", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LoggingBalanceEventPublisher implements BalanceEventPublisherPort {
+
+    @Override
+    public void publish(List<BalanceChangedEvent> events) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
+        for (BalanceChangedEvent event : events) {
+            log.debug("Balance changed: event={}, wallet={}, type={}, amount={}, balance={}, held={}",
+                    event.getId(), event.getWalletId(), event.getType(), event.getAmount(),
+                    event.getBalance(), event.getHeld());
+        }
+    }
+}
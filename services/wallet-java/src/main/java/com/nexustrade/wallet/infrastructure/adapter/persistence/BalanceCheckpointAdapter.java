@@ -0,0 +1,111 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.LoadBalanceHistoryPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Point-in-time balances from {@code balance_checkpoints} plus the transactions after the nearest
+ * one. A checkpoint is written every {@code every-transactions} transactions or {@code max-age} per
+ * wallet, so the delta scan stays bounded however old the account is. The per-wallet counters are
+ * local to the instance; losing them only makes the next checkpoint come earlier.
+ */
+@Component
+public class BalanceCheckpointAdapter implements SaveBalanceCheckpointPort, LoadBalanceHistoryPort {
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO balance_checkpoints (wallet_id, transaction_id, created_at, balance) VALUES (?, ?, ?, ?)";
+    private static final String NEAREST_SQL = """
+            SELECT transaction_id, created_at, balance
+              FROM balance_checkpoints
+             WHERE wallet_id = ? AND created_at <= ?
+             ORDER BY created_at DESC, transaction_id DESC NULLS LAST
+             LIMIT 1
+            """;
+    // Balance effect of each type: holds leave the available balance, releases return to it,
+    // captures only consume what is already held
+    private static final String DELTA_SQL = """
+            SELECT COALESCE(SUM(CASE type
+                                WHEN 'DEPOSIT' THEN amount
+                                WHEN 'RELEASE' THEN amount
+                                WHEN 'WITHDRAW' THEN -amount
+                                WHEN 'HOLD' THEN -amount
+                                ELSE 0 END), 0)
+              FROM transactions
+             WHERE wallet_id = ? AND status = 'COMPLETED'
+               AND created_at >= ? AND created_at <= ?
+               AND (created_at, id) > (?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int everyTransactions;
+    private final Duration maxAge;
+    private final Cache<Long, Progress> progress;
+
+    public BalanceCheckpointAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${wallet.checkpoints.every-transactions:500}") int everyTransactions,
+            @Value("${wallet.checkpoints.max-age:P1D}") Duration maxAge,
+            @Value("${wallet.checkpoints.tracked-wallets:100000}") long trackedWallets
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.everyTransactions = everyTransactions;
+        this.maxAge = maxAge;
+        this.progress = Caffeine.newBuilder()
+                .maximumSize(trackedWallets)
+                .build();
+    }
+
+    @Override
+    public void saveCheckpoint(Wallet wallet, Transaction transaction) {
+        LocalDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now();
+        Progress current = progress.getIfPresent(wallet.getId());
+        if (current != null
+                && current.sinceCheckpoint().incrementAndGet() < everyTransactions
+                && current.checkpointAt().plus(maxAge).isAfter(createdAt)) {
+            return;
+        }
+
+        jdbcTemplate.update(INSERT_SQL, wallet.getId(), transaction.getId(), Timestamp.valueOf(createdAt),
+                wallet.getBalance());
+        progress.put(wallet.getId(), new Progress(createdAt, new AtomicInteger()));
+    }
+
+    @Override
+    public BigDecimal loadBalanceAt(Long walletId, LocalDateTime at) {
+        Timestamp until = Timestamp.valueOf(at);
+        List<Checkpoint> nearest = jdbcTemplate.query(NEAREST_SQL, (rs, rowNum) -> new Checkpoint(
+                rs.getObject("transaction_id", Long.class),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getBigDecimal("balance")), walletId, until);
+
+        // Without a checkpoint the wallet is replayed from its (zero) opening balance
+        Checkpoint from = nearest.isEmpty() ? new Checkpoint(null, EPOCH, BigDecimal.ZERO) : nearest.get(0);
+        // A checkpoint without a transaction id (ledger engine, id assigned at flush) covers its whole instant
+        long afterId = from.transactionId() != null ? from.transactionId() : Long.MAX_VALUE;
+
+        BigDecimal delta = jdbcTemplate.queryForObject(DELTA_SQL, BigDecimal.class, walletId,
+                Timestamp.valueOf(from.createdAt()), until, Timestamp.valueOf(from.createdAt()), afterId);
+        return from.balance().add(delta);
+    }
+
+    private record Progress(LocalDateTime checkpointAt, AtomicInteger sinceCheckpoint) {
+    }
+
+    private record Checkpoint(Long transactionId, LocalDateTime createdAt, BigDecimal balance) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.model.BalanceChangedEvent;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.port.output.DrainBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Transactional outbox in {@code balance_event_outbox}. Relays claim the oldest rows with
+ * SKIP LOCKED, so several instances drain disjoint batches without waiting on each other, and
+ * delete them in the transaction that published them.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceEventOutboxAdapter implements SaveBalanceEventPort, DrainBalanceEventPort {
+    private static final String COLUMNS =
+            "id, wallet_id, user_id, transaction_id, type, amount, balance, held, currency, occurred_at";
+    private static final String INSERT_SQL = """
+            INSERT INTO balance_event_outbox
+                (wallet_id, user_id, transaction_id, type, amount, balance, held, currency, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String CLAIM_SQL = "SELECT " + COLUMNS + """
+             FROM balance_event_outbox
+             ORDER BY id
+             LIMIT ?
+               FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE_SQL = "DELETE FROM balance_event_outbox WHERE id = ANY (?)";
+    private static final String OLDEST_SQL = "SELECT occurred_at FROM balance_event_outbox ORDER BY id LIMIT 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void saveEvent(BalanceChangedEvent event) {
+        jdbcTemplate.update(INSERT_SQL, event.getWalletId(), event.getUserId(), event.getTransactionId(),
+                event.getType().name(), event.getAmount(), event.getBalance(), event.getHeld(), event.getCurrency(),
+                Timestamp.valueOf(event.getOccurredAt()));
+    }
+
+    @Override
+    public int drain(int limit, Consumer<List<BalanceChangedEvent>> handler) {
+        Integer drained = transactionTemplate.execute(status -> {
+            List<BalanceChangedEvent> events = jdbcTemplate.query(CLAIM_SQL, this::mapRow, limit);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            handler.accept(events);
+            Long[] ids = events.stream().map(BalanceChangedEvent::getId).toArray(Long[]::new);
+            jdbcTemplate.update(DELETE_SQL, statement ->
+                    statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids)));
+            return events.size();
+        });
+        return drained != null ? drained : 0;
+    }
+
+    @Override
+    public Optional<LocalDateTime> oldestPendingAt() {
+        return jdbcTemplate.query(OLDEST_SQL, (rs, rowNum) -> rs.getTimestamp("occurred_at").toLocalDateTime())
+                .stream()
+                .findFirst();
+    }
+
+    private BalanceChangedEvent mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return BalanceChangedEvent.builder()
+                .id(rs.getLong("id"))
+                .walletId(rs.getLong("wallet_id"))
+                .userId(rs.getLong("user_id"))
+                .transactionId(rs.getObject("transaction_id", Long.class))
+                .type(TransactionType.valueOf(rs.getString("type")))
+                .amount(rs.getBigDecimal("amount"))
+                .balance(rs.getBigDecimal("balance"))
+                .held(rs.getBigDecimal("held"))
+                .currency(rs.getString("currency"))
+                .occurredAt(rs.getTimestamp("occurred_at").toLocalDateTime())
+                .build();
+    }
+}
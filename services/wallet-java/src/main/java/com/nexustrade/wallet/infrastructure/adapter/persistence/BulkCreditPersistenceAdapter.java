@@ -0,0 +1,307 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+import com.nexustrade.wallet.domain.model.BulkCreditStatus;
+import com.nexustrade.wallet.domain.port.output.BulkCreditPort;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stages bulk credit uploads with COPY and applies them chunk by chunk with set-based statements.
+ * A chunk's wallet updates, transactions, aggregates and balance events commit together with the job's
+ * progress, so a restarted or concurrently resumed job never credits a line twice.
+ */
+@Component
+@Profile("!ledger-engine")
+@RequiredArgsConstructor
+public class BulkCreditPersistenceAdapter implements BulkCreditPort {
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MAX_SCALE = 4;
+    private static final int MAX_INTEGER_DIGITS = 15;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final String JOB_COLUMNS =
+            "id, status, total_rows, staged_rows, applied_rows, error, created_at, updated_at";
+    private static final String CREATE_SQL =
+            "INSERT INTO bulk_credit_jobs (status) VALUES ('RECEIVING') RETURNING " + JOB_COLUMNS;
+    private static final String COPY_SQL =
+            "COPY bulk_credit_items (job_id, line_no, email, amount) FROM STDIN WITH (FORMAT csv)";
+    private static final String STAGED_SQL = """
+            UPDATE bulk_credit_jobs
+               SET status = 'APPLYING', total_rows = ?, staged_rows = ?, updated_at = now()
+             WHERE id = ?
+            """;
+    private static final String CLAIM_SQL =
+            "SELECT last_line FROM bulk_credit_jobs WHERE id = ? AND status = 'APPLYING' FOR UPDATE";
+    private static final String CHUNK_END_SQL = """
+            SELECT max(line_no)
+              FROM (SELECT line_no FROM bulk_credit_items
+                     WHERE job_id = ? AND line_no > ?
+                     ORDER BY line_no
+                     LIMIT ?) chunk
+            """;
+    // Wallets are locked in id order up front, so two chunks (or a chunk and a multi-wallet
+    // mutation) cannot deadlock on each other's rows
+    private static final String LOCK_WALLETS_SQL = """
+            SELECT w.id
+              FROM wallets w
+              JOIN users u ON u.id = w.user_id
+             WHERE u.email IN (SELECT email FROM bulk_credit_items
+                                WHERE job_id = ? AND line_no > ? AND line_no <= ?)
+             ORDER BY w.id
+               FOR UPDATE OF w
+            """;
+    // Lines whose email has no wallet drop out of the join and count as rejected. Transaction ids
+    // are drawn up front so each credit's outbox event can reference it and carry the running
+    // balance of its wallet, in line order.
+    private static final String APPLY_CHUNK_SQL = """
+            WITH chunk AS MATERIALIZED (
+                SELECT nextval('transactions_id_seq') AS transaction_id, w.id AS wallet_id, w.user_id,
+                       i.line_no, i.amount
+                  FROM bulk_credit_items i
+                  JOIN users u ON u.email = i.email
+                  JOIN wallets w ON w.user_id = u.id
+                 WHERE i.job_id = ? AND i.line_no > ? AND i.line_no <= ?
+            ), credited AS (
+                UPDATE wallets w
+                   SET balance = w.balance + c.total, updated_at = clock_timestamp()
+                  FROM (SELECT wallet_id, sum(amount) AS total FROM chunk GROUP BY wallet_id) c
+                 WHERE w.id = c.wallet_id
+                RETURNING w.id, w.balance, w.held, w.currency, c.total
+            ), recorded AS (
+                INSERT INTO transactions (id, wallet_id, amount, type, status, created_at)
+                SELECT transaction_id, wallet_id, amount, 'DEPOSIT', 'COMPLETED', now() FROM chunk
+            ), aggregated AS (
+                INSERT INTO wallet_transaction_aggregates AS a (wallet_id, period, bucket_start, type, amount, tx_count)
+                SELECT c.wallet_id, b.period, b.bucket_start, 'DEPOSIT', sum(c.amount), count(*)
+                  FROM chunk c
+                 CROSS JOIN (VALUES ('DAY', (now() AT TIME ZONE 'UTC')::date),
+                                    ('MONTH', date_trunc('month', now() AT TIME ZONE 'UTC')::date),
+                                    ('ALL', DATE '1970-01-01')) AS b (period, bucket_start)
+                 GROUP BY c.wallet_id, b.period, b.bucket_start
+                 ORDER BY c.wallet_id
+                ON CONFLICT (wallet_id, period, bucket_start, type)
+                DO UPDATE SET amount = a.amount + EXCLUDED.amount, tx_count = a.tx_count + EXCLUDED.tx_count
+            )
+            INSERT INTO balance_event_outbox
+                (wallet_id, user_id, transaction_id, type, amount, balance, held, currency, occurred_at)
+            SELECT c.wallet_id, c.user_id, c.transaction_id, 'DEPOSIT', c.amount,
+                   cr.balance - cr.total + sum(c.amount) OVER (PARTITION BY c.wallet_id ORDER BY c.line_no),
+                   cr.held, cr.currency, now()
+              FROM chunk c
+              JOIN credited cr ON cr.id = c.wallet_id
+             ORDER BY c.line_no
+            """;
+    private static final String PROGRESS_SQL = """
+            UPDATE bulk_credit_jobs
+               SET last_line = ?, applied_rows = applied_rows + ?, updated_at = now()
+             WHERE id = ?
+            """;
+    private static final String DELETE_ITEMS_SQL = "DELETE FROM bulk_credit_items WHERE job_id = ?";
+    private static final String COMPLETE_SQL =
+            "UPDATE bulk_credit_jobs SET status = 'COMPLETED', updated_at = now() WHERE id = ?";
+    private static final String FAIL_SQL = """
+            UPDATE bulk_credit_jobs
+               SET status = 'FAILED', error = ?, updated_at = now()
+             WHERE id = ? AND status <> 'COMPLETED'
+            """;
+    private static final String LOAD_SQL = "SELECT " + JOB_COLUMNS + " FROM bulk_credit_jobs WHERE id = ?";
+    private static final String LOAD_IDS_SQL = "SELECT id FROM bulk_credit_jobs WHERE status = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public BulkCreditJob createJob() {
+        return jdbcTemplate.queryForObject(CREATE_SQL, this::mapRow);
+    }
+
+    @Override
+    public BulkCreditJob stage(Long jobId, InputStream upload, BulkCreditFormat format) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long[] counts = jdbcTemplate.execute((ConnectionCallback<long[]>) connection ->
+                    copyIn(connection.unwrap(PGConnection.class), jobId, upload, format));
+            jdbcTemplate.update(STAGED_SQL, counts[0], counts[1], jobId);
+        });
+        return loadJob(jobId).orElseThrow(() -> new IllegalStateException("Bulk credit job not found"));
+    }
+
+    @Override
+    public boolean applyNextChunk(Long jobId, int chunkSize) {
+        Boolean applied = transactionTemplate.execute(status -> {
+            List<Long> lastLine = jdbcTemplate.queryForList(CLAIM_SQL, Long.class, jobId);
+            if (lastLine.isEmpty()) {
+                return false;
+            }
+            long from = lastLine.get(0);
+            Long to = jdbcTemplate.queryForObject(CHUNK_END_SQL, Long.class, jobId, from, chunkSize);
+            if (to == null) {
+                return false;
+            }
+
+            jdbcTemplate.queryForList(LOCK_WALLETS_SQL, Long.class, jobId, from, to);
+            int credited = jdbcTemplate.update(APPLY_CHUNK_SQL, jobId, from, to);
+            jdbcTemplate.update(PROGRESS_SQL, to, credited, jobId);
+            return true;
+        });
+        return Boolean.TRUE.equals(applied);
+    }
+
+    @Override
+    public void complete(Long jobId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_ITEMS_SQL, jobId);
+            jdbcTemplate.update(COMPLETE_SQL, jobId);
+        });
+    }
+
+    @Override
+    public void fail(Long jobId, String error) {
+        jdbcTemplate.update(FAIL_SQL, error, jobId);
+    }
+
+    @Override
+    public Optional<BulkCreditJob> loadJob(Long jobId) {
+        return jdbcTemplate.query(LOAD_SQL, this::mapRow, jobId).stream().findFirst();
+    }
+
+    @Override
+    public List<Long> loadJobIds(BulkCreditStatus status) {
+        return jdbcTemplate.queryForList(LOAD_IDS_SQL, Long.class, status.name());
+    }
+
+    /**
+     * Parses the upload line by line and streams the valid records straight into COPY, so neither
+     * the upload nor the staged rows are ever held in memory. Returns {lines read, lines staged}.
+     */
+    private long[] copyIn(PGConnection connection, Long jobId, InputStream upload, BulkCreditFormat format)
+            throws SQLException {
+        long total = 0;
+        long staged = 0;
+        long lineNo = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(upload, StandardCharsets.UTF_8));
+        try (Writer copy = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, COPY_SQL, COPY_BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || (lineNo == 1 && isCsvHeader(format, line))) {
+                    continue;
+                }
+                total++;
+                Item item = parse(format, line);
+                if (item == null) {
+                    continue;
+                }
+                copy.write(jobId + "," + lineNo + "," + quote(item.email()) + "," + item.amount().toPlainString() + "\n");
+                staged++;
+            }
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new UncheckedIOException("Could not read bulk credit upload", e);
+        }
+        return new long[]{total, staged};
+    }
+
+    private boolean isCsvHeader(BulkCreditFormat format, String line) {
+        if (format != BulkCreditFormat.CSV) {
+            return false;
+        }
+        // Only a first field of exactly "email": an address such as emailme@x.com is a data row
+        int separator = line.indexOf(',');
+        return unquote(separator < 0 ? line : line.substring(0, separator)).equalsIgnoreCase("email");
+    }
+
+    private Item parse(BulkCreditFormat format, String line) {
+        String email;
+        String amount;
+        if (format == BulkCreditFormat.NDJSON) {
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                email = node.path("email").asText(null);
+                amount = node.path("amount").asText(null);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        } else {
+            int separator = line.indexOf(',');
+            if (separator < 0) {
+                return null;
+            }
+            email = unquote(line.substring(0, separator));
+            amount = unquote(line.substring(separator + 1));
+        }
+        return toItem(email, amount);
+    }
+
+    private Item toItem(String email, String amount) {
+        if (email == null || email.isBlank() || email.length() > MAX_EMAIL_LENGTH || amount == null) {
+            return null;
+        }
+        try {
+            BigDecimal value = new BigDecimal(amount).stripTrailingZeros();
+            if (value.signum() <= 0 || value.scale() > MAX_SCALE || value.precision() - value.scale() > MAX_INTEGER_DIGITS) {
+                return null;
+            }
+            return new Item(email, value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String value) {
+        String stripped = value.strip();
+        if (stripped.length() >= 2 && stripped.startsWith("\"") && stripped.endsWith("\"")) {
+            return stripped.substring(1, stripped.length() - 1).replace("\"\"", "\"").strip();
+        }
+        return stripped;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private BulkCreditJob mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return BulkCreditJob.builder()
+                .id(rs.getLong("id"))
+                .status(BulkCreditStatus.valueOf(rs.getString("status")))
+                .totalRows(rs.getLong("total_rows"))
+                .stagedRows(rs.getLong("staged_rows"))
+                .appliedRows(rs.getLong("applied_rows"))
+                .error(rs.getString("error"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    }
+
+    private record Item(String email, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Coalesced cache loads that never block while holding a lock. {@code Cache.get(key, loader)}
+ * runs the loader inside a {@code ConcurrentHashMap} bin lock (a monitor), which pins the carrier
+ * thread of a virtual thread for the whole database round trip. Here only a placeholder future is
+ * installed under the lock; the first caller loads on its own thread and the others wait on it.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {
+    }
+
+    /**
+     * Returns the cached value or loads it once for all concurrent callers. A null result is
+     * returned to every waiter but not kept in the cache.
+     */
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> shared = cache.get(key, (k, executor) -> mine);
+        if (shared == mine) {
+            try {
+                mine.complete(loader.apply(key));
+            } catch (Throwable e) {
+                // Also on errors: a placeholder left pending would block every later reader of the key
+                mine.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return await(shared);
+    }
+
+    static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
+import com.nexustrade.wallet.domain.port.output.SaveUserPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Email-to-user cache in front of {@link UserPersistenceAdapter}. Unknown emails are cached too,
+ * for a shorter time, so repeated lookups of a missing user do not reach the database. Saving a
+ * user evicts its email immediately and again after commit, so a concurrent read cannot re-cache
+ * the pre-commit state. Hit/miss/eviction counts are published as {@code cache.*} metrics with
+ * {@code cache=users.by-email}.
+ */
+@Component
+@Primary
+public class CachingUserPersistenceAdapter implements LoadUserPort, SaveUserPort {
+    private final UserPersistenceAdapter delegate;
+    private final AsyncCache<String, Optional<User>> byEmail;
+
+    public CachingUserPersistenceAdapter(
+            UserPersistenceAdapter delegate,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.user-cache.max-size:100000}") long maxSize,
+            @Value("${wallet.user-cache.ttl:PT10M}") Duration ttl,
+            @Value("${wallet.user-cache.negative-ttl:PT30S}") Duration negativeTtl
+    ) {
+        this.delegate = delegate;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<User>>() {
+                    @Override
+                    public long expireAfterCreate(String email, Optional<User> user, long currentTime) {
+                        return (user.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Optional<User> user, long currentTime, long currentDuration) {
+                        return expireAfterCreate(email, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Optional<User> user, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail.synchronous(), "users.by-email");
+    }
+
+    @Override
+    public Optional<User> loadUserByEmail(String email) {
+        return CacheLoads.getOrLoad(byEmail, email, delegate::loadUserByEmail);
+    }
+
+    @Override
+    public List<User> loadUsersByEmails(Collection<String> emails) {
+        // The bulk mapping function runs on the calling thread outside any lock; it only hands back
+        // a future that is completed here once the single IN query returns
+        CompletableFuture<Map<String, Optional<User>>> loading = new CompletableFuture<>();
+        List<String> missing = new ArrayList<>();
+        CompletableFuture<Map<String, Optional<User>>> all = byEmail.getAll(emails, (keys, executor) -> {
+            missing.addAll(keys);
+            return loading;
+        });
+        if (!missing.isEmpty()) {
+            try {
+                Map<String, Optional<User>> loaded = new HashMap<>();
+                missing.forEach(email -> loaded.put(email, Optional.empty()));
+                delegate.loadUsersByEmails(missing)
+                        .forEach(user -> loaded.put(user.getEmail(), Optional.of(user)));
+                loading.complete(loaded);
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        Map<String, Optional<User>> users = CacheLoads.await(all);
+        return users.values().stream().flatMap(Optional::stream).toList();
+    }
+
+    @Override
+    public Optional<User> loadUserById(Long id) {
+        return delegate.loadUserById(id);
+    }
+
+    // Registration checks against the database: a stale negative entry must not let a duplicate through
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    @Override
+    public User saveUser(User user) {
+        User saved = delegate.saveUser(user);
+        evict(saved.getEmail());
+        return saved;
+    }
+
+    private void evict(String email) {
+        byEmail.synchronous().invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byEmail.synchronous().invalidate(email);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexustrade.wallet.domain.model.ReadConsistency;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Wallet snapshots by user id in front of {@link WalletPersistenceAdapter}. Concurrent misses for
+ * the same user share one load (see {@link CacheLoads}). Writes go through to the cache once their transaction commits;
+ * when commits land out of order the snapshot with the later {@code updated_at} wins, which is
+ * safe because the balance UPDATE stamps the row with the time it actually took the row lock.
+ * Not used with the ledger engine, which already serves wallets from memory.
+ */
+@Component
+@Primary
+@Profile("!ledger-engine")
+public class CachingWalletPersistenceAdapter implements LoadWalletPort, SaveWalletPort {
+    private final WalletPersistenceAdapter delegate;
+    private final AsyncCache<Long, Wallet> byUserId;
+
+    public CachingWalletPersistenceAdapter(
+            WalletPersistenceAdapter delegate,
+            MeterRegistry meterRegistry,
+            @Value("${wallet.wallet-cache.max-size:100000}") long maxSize,
+            @Value("${wallet.wallet-cache.ttl:PT10S}") Duration ttl
+    ) {
+        this.delegate = delegate;
+        this.byUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, byUserId.synchronous(), "wallets.by-user");
+    }
+
+    @Override
+    public Optional<Wallet> loadWalletByUserId(Long userId) {
+        return loadWalletByUserId(userId, ReadConsistency.CACHED);
+    }
+
+    @Override
+    public Optional<Wallet> loadWalletByUserId(Long userId, ReadConsistency consistency) {
+        if (consistency == ReadConsistency.FRESH) {
+            Optional<Wallet> wallet = delegate.loadWalletByUserId(userId);
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                wallet.ifPresent(this::refresh);
+            }
+            return wallet;
+        }
+        // A missing wallet is not cached: it is created right after its user is registered
+        Wallet cached = CacheLoads.getOrLoad(byUserId, userId, id -> delegate.loadWalletByUserId(id).orElse(null));
+        return Optional.ofNullable(cached).map(CachingWalletPersistenceAdapter::copy);
+    }
+
+    @Override
+    public Wallet saveWallet(Wallet wallet) {
+        Wallet saved = delegate.saveWallet(wallet);
+        writeThrough(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta) {
+        Optional<Wallet> updated = delegate.applyBalanceDelta(userId, delta, heldDelta);
+        updated.ifPresent(this::writeThrough);
+        return updated;
+    }
+
+    private void writeThrough(Wallet wallet) {
+        Wallet snapshot = copy(wallet);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    refresh(snapshot);
+                } else {
+                    byUserId.synchronous().invalidate(snapshot.getUserId());
+                }
+            }
+        });
+    }
+
+    private void refresh(Wallet snapshot) {
+        // An in-flight load may have read an older row; the committed snapshot replaces it
+        byUserId.asMap().compute(snapshot.getUserId(), (userId, current) ->
+                isNewer(current, snapshot) ? current : CompletableFuture.completedFuture(snapshot));
+    }
+
+    private static boolean isNewer(CompletableFuture<Wallet> current, Wallet candidate) {
+        if (current == null || !current.isDone() || current.isCompletedExceptionally()) {
+            return false;
+        }
+        Wallet cached = current.join();
+        return cached != null && cached.getUpdatedAt() != null && candidate.getUpdatedAt() != null
+                && cached.getUpdatedAt().isAfter(candidate.getUpdatedAt());
+    }
+
+    // Callers get their own instance; cached snapshots are never handed out for mutation
+    private static Wallet copy(Wallet wallet) {
+        return Wallet.builder()
+                .id(wallet.getId())
+                .userId(wallet.getUserId())
+                .balance(wallet.getBalance())
+                .held(wallet.getHeld())
+                .currency(wallet.getCurrency())
+                .updatedAt(wallet.getUpdatedAt())
+                .build();
+    }
+}
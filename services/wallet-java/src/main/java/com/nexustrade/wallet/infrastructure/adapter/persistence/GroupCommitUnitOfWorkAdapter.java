@@ -0,0 +1,239 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Group commit: work submitted within {@code window-ms} (or until {@code max-batch} items) shares
+ * one database transaction, so a burst of mutations costs one commit instead of one per caller.
+ * Callers are only acknowledged after the commit. Each item runs under its own savepoint, so an
+ * item rejected by the business rules (an {@link IllegalArgumentException} or
+ * {@link IllegalStateException}, e.g. insufficient funds) is undone on its own and only its caller
+ * fails. Any other failure rolls the shared transaction back and every item is re-run in its own
+ * transaction so only the failing ones are reported as failed. Time spent queued before the batch
+ * starts is published as {@code wallet.group-commit.queue-wait}.
+ */
+@Component
+@ConditionalOnProperty(name = "wallet.group-commit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class GroupCommitUnitOfWorkAdapter implements UnitOfWorkPort {
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${wallet.group-commit.window-ms:2}")
+    private long windowMs;
+
+    @Value("${wallet.group-commit.max-batch:128}")
+    private int maxBatch;
+
+    @Value("${wallet.group-commit.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${wallet.group-commit.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private BlockingQueue<PendingWork<?>> queue;
+    private Thread committer;
+    private volatile boolean running = true;
+    private Timer queueWait;
+    private Counter rejected;
+    private Counter retries;
+
+    @PostConstruct
+    void start() {
+        queueWait = Timer.builder("wallet.group-commit.queue-wait")
+                .description("Time a mutation waits for its group commit to start")
+                .register(meterRegistry);
+        rejected = meterRegistry.counter("wallet.group-commit.rejected");
+        retries = meterRegistry.counter("wallet.mutation.retries", "reason", "group-commit-split");
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        committer = Thread.ofPlatform().name("wallet-group-commit").daemon().unstarted(this::run);
+        committer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        committer.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything the committer did not get to is never run, so its callers can fail right away
+        PendingWork<?> pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().completeExceptionally(new IllegalStateException("Wallet mutation queue is shutting down"));
+        }
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        PendingWork<T> pending = new PendingWork<>(work, new CompletableFuture<>(), System.nanoTime());
+        if (!running || !queue.offer(pending)) {
+            rejected.increment();
+            throw new IllegalStateException("Wallet mutation queue is full, retry later");
+        }
+        try {
+            return pending.future().get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                throw new IllegalStateException("Wallet mutation was not started in time, retry later");
+            }
+            throw new IllegalStateException("Wallet mutation did not complete in time, its outcome is unknown");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the wallet mutation", e);
+        }
+    }
+
+    private void run() {
+        List<PendingWork<?>> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWork<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWork<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                // Never let one batch take the committer, and with it every later caller, down
+                log.error("Group commit of {} operations failed unexpectedly", batch.size(), e);
+                batch.forEach(pending -> pending.future().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWork<?>> batch) {
+        List<Runnable> completions = new ArrayList<>(batch.size());
+        long startedAt = System.nanoTime();
+        for (PendingWork<?> pending : batch) {
+            queueWait.record(startedAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        if (batch.size() == 1) {
+            commitAlone(batch.get(0));
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (PendingWork<?> pending : batch) {
+                    completions.add(runInSavepoint(pending));
+                }
+            });
+        } catch (Throwable e) {
+            log.warn("Group commit of {} operations failed, retrying them one by one", batch.size(), e);
+            completions.clear();
+            retries.increment(batch.size());
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        // Only acknowledge once the shared transaction has committed
+        completions.forEach(Runnable::run);
+    }
+
+    /**
+     * Runs one item of the shared transaction. A business rejection only rolls back to the
+     * item's savepoint; anything else propagates and rolls back the whole batch.
+     */
+    private Runnable runInSavepoint(PendingWork<?> pending) {
+        int synchronizations = synchronizations();
+        Savepoint savepoint = jdbcTemplate.execute((ConnectionCallback<Savepoint>) Connection::setSavepoint);
+        try {
+            Runnable completion = pending.run();
+            // JPA writes are only sent at flush; send them while the savepoint can still undo them
+            entityManager.flush();
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.releaseSavepoint(savepoint);
+                return null;
+            });
+            return completion;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            if (synchronizations() != synchronizations) {
+                // The item changed state outside the database (the ledger engine) that only a full rollback undoes
+                throw e;
+            }
+            // Drops the item's unflushed writes; earlier items were flushed already
+            entityManager.clear();
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                connection.rollback(savepoint);
+                return null;
+            });
+            return () -> pending.future().completeExceptionally(e);
+        }
+    }
+
+    private static int synchronizations() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                ? TransactionSynchronizationManager.getSynchronizations().size()
+                : 0;
+    }
+
+    private void commitAlone(PendingWork<?> pending) {
+        Runnable completion;
+        try {
+            completion = transactionTemplate.execute(status -> pending.run());
+        } catch (Throwable e) {
+            completion = () -> pending.future().completeExceptionally(e);
+        }
+        completion.run();
+    }
+
+    private record PendingWork<T>(Supplier<T> work, CompletableFuture<T> future, long enqueuedAt) {
+
+        /**
+         * Runs the work and returns how to complete the caller once the transaction has committed.
+         * Failures propagate and roll back the transaction the work ran in.
+         */
+        Runnable run() {
+            T result = work.get();
+            return () -> future.complete(result);
+        }
+    }
+}
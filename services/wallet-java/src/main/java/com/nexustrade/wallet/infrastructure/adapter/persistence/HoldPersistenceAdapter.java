@@ -0,0 +1,77 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.model.FundsHold;
+import com.nexustrade.wallet.domain.model.HoldStatus;
+import com.nexustrade.wallet.domain.port.output.LoadHoldPort;
+import com.nexustrade.wallet.domain.port.output.SaveHoldPort;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.FundsHoldEntity;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.repository.FundsHoldRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class HoldPersistenceAdapter implements LoadHoldPort, SaveHoldPort {
+    private final FundsHoldRepository fundsHoldRepository;
+
+    @Override
+    public Optional<FundsHold> loadHold(Long holdId) {
+        return fundsHoldRepository.findById(holdId).map(this::toDomain);
+    }
+
+    @Override
+    public List<FundsHold> loadExpiredHolds(LocalDateTime now, int limit) {
+        return fundsHoldRepository
+                .findByStatusAndExpiresAtBeforeOrderByExpiresAt(HoldStatus.ACTIVE, now, PageRequest.of(0, limit))
+                .stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public FundsHold saveHold(FundsHold hold) {
+        FundsHoldEntity saved = fundsHoldRepository.save(toEntity(hold));
+        return toDomain(saved);
+    }
+
+    @Override
+    public boolean transitionHold(Long holdId, HoldStatus from, HoldStatus to) {
+        return fundsHoldRepository.transition(holdId, from, to, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    public boolean transitionUnexpiredHold(Long holdId, HoldStatus from, HoldStatus to, LocalDateTime now) {
+        return fundsHoldRepository.transitionUnexpired(holdId, from, to, now) == 1;
+    }
+
+    private FundsHold toDomain(FundsHoldEntity entity) {
+        return FundsHold.builder()
+                .id(entity.getId())
+                .walletId(entity.getWalletId())
+                .userId(entity.getUserId())
+                .amount(entity.getAmount())
+                .status(entity.getStatus())
+                .expiresAt(entity.getExpiresAt())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .build();
+    }
+
+    private FundsHoldEntity toEntity(FundsHold hold) {
+        return FundsHoldEntity.builder()
+                .id(hold.getId())
+                .walletId(hold.getWalletId())
+                .userId(hold.getUserId())
+                .amount(hold.getAmount())
+                .status(hold.getStatus())
+                .expiresAt(hold.getExpiresAt())
+                .createdAt(hold.getCreatedAt())
+                .updatedAt(hold.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexustrade.wallet.domain.model.IdempotentRequest;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Completed idempotent requests. Recent results are served from a bounded in-memory cache; the
+ * {@code idempotency_keys} table is the source of truth and is written in the caller's transaction,
+ * so a key only becomes visible together with the mutation it describes.
+ */
+@Component
+@Slf4j
+public class IdempotencyPersistenceAdapter implements IdempotencyPort {
+    private static final String SELECT_SQL = """
+            SELECT fingerprint, wallet_id, user_id, balance, held, currency, wallet_updated_at
+              FROM idempotency_keys
+             WHERE idempotency_key = ? AND expires_at > CURRENT_TIMESTAMP
+            """;
+    private static final String INSERT_SQL = """
+            INSERT INTO idempotency_keys
+                (idempotency_key, fingerprint, wallet_id, user_id, balance, held, currency, wallet_updated_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (idempotency_key) DO UPDATE
+               SET fingerprint = EXCLUDED.fingerprint,
+                   wallet_id = EXCLUDED.wallet_id,
+                   user_id = EXCLUDED.user_id,
+                   balance = EXCLUDED.balance,
+                   held = EXCLUDED.held,
+                   currency = EXCLUDED.currency,
+                   wallet_updated_at = EXCLUDED.wallet_updated_at,
+                   created_at = CURRENT_TIMESTAMP,
+                   expires_at = EXCLUDED.expires_at
+             WHERE idempotency_keys.expires_at <= CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Cache<String, StoredResult> recent;
+
+    public IdempotencyPersistenceAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${wallet.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${wallet.idempotency.max-cached-keys:100000}") long maxCachedKeys
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxCachedKeys)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<Wallet> loadResult(IdempotentRequest request) {
+        StoredResult stored = recent.getIfPresent(request.getKey());
+        if (stored == null) {
+            stored = jdbcTemplate.query(SELECT_SQL, this::mapRow, request.getKey()).stream()
+                    .findFirst()
+                    .orElse(null);
+            if (stored == null) {
+                return Optional.empty();
+            }
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                // Only cache what is known to be committed
+                recent.put(request.getKey(), stored);
+            }
+        }
+
+        if (!stored.fingerprint().equals(request.getFingerprint())) {
+            throw new IllegalArgumentException("Idempotency key already exists for a different request");
+        }
+        return Optional.of(stored.wallet());
+    }
+
+    @Override
+    public void saveResult(IdempotentRequest request, Wallet wallet) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        int inserted = jdbcTemplate.update(INSERT_SQL,
+                request.getKey(),
+                request.getFingerprint(),
+                wallet.getId(),
+                wallet.getUserId(),
+                wallet.getBalance(),
+                wallet.getHeld(),
+                wallet.getCurrency(),
+                wallet.getUpdatedAt() != null ? Timestamp.valueOf(wallet.getUpdatedAt()) : null,
+                Timestamp.valueOf(expiresAt));
+        if (inserted == 0) {
+            // A concurrent request with the same key committed first
+            throw new DuplicateKeyException("Idempotency key " + request.getKey() + " is already in use");
+        }
+
+        StoredResult stored = new StoredResult(request.getFingerprint(), wallet);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recent.put(request.getKey(), stored);
+                }
+            });
+        } else {
+            recent.put(request.getKey(), stored);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= CURRENT_TIMESTAMP");
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResult mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("wallet_updated_at");
+        Wallet wallet = Wallet.builder()
+                .id(rs.getLong("wallet_id"))
+                .userId(rs.getLong("user_id"))
+                .balance(rs.getBigDecimal("balance"))
+                .held(rs.getBigDecimal("held"))
+                .currency(rs.getString("currency"))
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .build();
+        return new StoredResult(rs.getString("fingerprint"), wallet);
+    }
+
+    private record StoredResult(String fingerprint, Wallet wallet) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.model.AggregatePeriod;
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionAggregate;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.port.output.LoadTransactionAggregatePort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-wallet totals in {@code wallet_transaction_aggregates}, by UTC day, month and all time. The
+ * transaction adapter adds to them in the transaction that inserts the rows; the wallet row lock
+ * taken by every mutation already serialises writers of one wallet's buckets.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionAggregateAdapter implements LoadTransactionAggregatePort {
+    private static final LocalDate ALL_TIME_BUCKET = LocalDate.of(1970, 1, 1);
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::walletId)
+            .thenComparing(Key::type)
+            .thenComparing(Key::day);
+
+    // One statement adds to the day, month and all-time rows of a (wallet, type, day) group
+    private static final String UPSERT_SQL = """
+            INSERT INTO wallet_transaction_aggregates AS a (wallet_id, period, bucket_start, type, amount, tx_count)
+            VALUES (?, 'DAY', ?, ?, ?, ?), (?, 'MONTH', ?, ?, ?, ?), (?, 'ALL', ?, ?, ?, ?)
+            ON CONFLICT (wallet_id, period, bucket_start, type)
+            DO UPDATE SET amount = a.amount + EXCLUDED.amount, tx_count = a.tx_count + EXCLUDED.tx_count
+            """;
+    private static final String LOAD_SQL = """
+            SELECT period, type, amount, tx_count
+              FROM wallet_transaction_aggregates
+             WHERE wallet_id = ?
+               AND ((period = 'DAY' AND bucket_start = ?)
+                 OR (period = 'MONTH' AND bucket_start = ?)
+                 OR (period = 'ALL' AND bucket_start = ?))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<TransactionAggregate> loadAggregates(Long walletId, LocalDate day) {
+        return jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> TransactionAggregate.builder()
+                        .period(AggregatePeriod.valueOf(rs.getString("period")))
+                        .type(TransactionType.valueOf(rs.getString("type")))
+                        .amount(rs.getBigDecimal("amount"))
+                        .count(rs.getLong("tx_count"))
+                        .build(),
+                walletId, Date.valueOf(day), Date.valueOf(day.withDayOfMonth(1)), Date.valueOf(ALL_TIME_BUCKET));
+    }
+
+    /**
+     * Adds completed transactions to their buckets, one statement per wallet, type and day. Groups
+     * are written in a fixed order so concurrent batches cannot deadlock on each other's rows.
+     */
+    void add(Collection<Transaction> transactions) {
+        Map<Key, Totals> groups = new TreeMap<>(KEY_ORDER);
+        for (Transaction transaction : transactions) {
+            if (transaction.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+            LocalDateTime createdAt = transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now();
+            LocalDate day = createdAt.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+            groups.computeIfAbsent(new Key(transaction.getWalletId(), transaction.getType().name(), day), key -> new Totals())
+                    .add(transaction.getAmount());
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, totals) -> rows.add(new Object[]{
+                key.walletId(), Date.valueOf(key.day()), key.type(), totals.amount, totals.count,
+                key.walletId(), Date.valueOf(key.day().withDayOfMonth(1)), key.type(), totals.amount, totals.count,
+                key.walletId(), Date.valueOf(ALL_TIME_BUCKET), key.type(), totals.amount, totals.count}));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    private record Key(Long walletId, String type, LocalDate day) {
+    }
+
+    private static final class Totals {
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        private void add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} (see V6) ahead of the clock and, when
+ * {@code retention-months} is set, detaches the ones older than the retention window. Detached
+ * partitions are left in place as plain tables so they can be archived or dropped out of band.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintainer {
+    private static final String PARTITION_PREFIX = "transactions_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'uuuu'm'MM");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits i " +
+            "JOIN pg_class parent ON parent.oid = i.inhparent " +
+            "JOIN pg_class child ON child.oid = i.inhrelid " +
+            "WHERE parent.relname = 'transactions'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${wallet.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${wallet.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${wallet.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        List<String> existing = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (!existing.contains(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String partition : existing) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(oldestKept)) {
+                detachPartition(partition);
+            }
+        }
+    }
+
+    /**
+     * Creates any missing partitions for the months from {@code first} to {@code last}, e.g. before
+     * loading historical rows that would otherwise land in transactions_default.
+     */
+    public void ensurePartitions(YearMonth first, YearMonth last) {
+        List<String> existing = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!existing.contains(partitionName(month))) {
+                createPartition(month);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF transactions " +
+                    "FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') " +
+                    "TO ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+            log.info("Created transactions partition {}", name);
+        } catch (RuntimeException e) {
+            // Typically rows for that month already landed in transactions_default
+            log.error("Could not create transactions partition {}", name, e);
+        }
+    }
+
+    private void detachPartition(String name) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+            log.info("Detached transactions partition {}", name);
+        } catch (RuntimeException e) {
+            log.error("Could not detach transactions partition {}", name, e);
+        }
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            // transactions_default and anything created by hand
+            return null;
+        }
+    }
+}
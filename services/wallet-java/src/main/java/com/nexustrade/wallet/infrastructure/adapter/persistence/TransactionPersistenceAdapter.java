@@ -1,6 +1,9 @@
 package com.nexustrade.wallet.infrastructure.adapter.persistence;
 
 import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionCursor;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
 import com.nexustrade.wallet.domain.port.output.LoadTransactionPort;
 import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
 import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.TransactionEntity;
@@ -8,26 +11,107 @@ import com.nexustrade.wallet.infrastructure.adapter.persistence.repository.Trans
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
 public class TransactionPersistenceAdapter implements LoadTransactionPort, SaveTransactionPort {
+    private static final String EXPORT_SQL =
+            "SELECT id, wallet_id, amount, type, status, created_at FROM transactions " +
+            "WHERE wallet_id = ? ORDER BY created_at DESC, id DESC";
+
+    private static final LocalDateTime UNBOUNDED_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime UNBOUNDED_TO = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final TransactionRepository transactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionAggregateAdapter transactionAggregateAdapter;
+
+    @Value("${wallet.export.fetch-size:500}")
+    private int exportFetchSize;
 
     @Override
     public Page<Transaction> loadTransactionsByWalletId(Long walletId, Pageable pageable) {
         return transactionRepository.findByWalletId(walletId, pageable).map(this::toDomain);
     }
 
+    @Override
+    public Page<Transaction> loadTransactionsByWalletId(Long walletId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (from == null && to == null) {
+            return loadTransactionsByWalletId(walletId, pageable);
+        }
+        return transactionRepository.findByWalletIdAndCreatedAtRange(walletId,
+                        from != null ? from : UNBOUNDED_FROM,
+                        to != null ? to : UNBOUNDED_TO,
+                        pageable)
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<Transaction> loadTransactionsByWalletId(Long walletId, TransactionCursor after, int limit) {
+        List<TransactionEntity> entities = after == null
+                ? transactionRepository.findLatestByWalletId(walletId, limit)
+                : transactionRepository.findByWalletIdBefore(walletId, after.getCreatedAt(), after.getId(), limit);
+        return entities.stream().map(this::toDomain).toList();
+    }
+
+    // The Postgres driver only honours the fetch size (a server-side cursor) with autocommit off,
+    // hence the read-only transaction around the query
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTransactionsByWalletId(Long walletId, Consumer<Transaction> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(exportFetchSize);
+            statement.setLong(1, walletId);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
     @Override
     public Transaction saveTransaction(Transaction transaction) {
         TransactionEntity entity = toEntity(transaction);
-        TransactionEntity saved = transactionRepository.save(entity);
-        return toDomain(saved);
+        Transaction saved = toDomain(transactionRepository.save(entity));
+        transactionAggregateAdapter.add(List.of(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Transaction> saveTransactions(List<Transaction> transactions) {
+        // Ids come from the pooled sequence, so the INSERTs are batched at flush
+        List<Transaction> saved = transactionRepository.saveAll(transactions.stream().map(this::toEntity).toList()).stream()
+                .map(this::toDomain)
+                .toList();
+        transactionAggregateAdapter.add(saved);
+        return saved;
+    }
+
+    private Transaction mapRow(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return Transaction.builder()
+                .id(rs.getLong("id"))
+                .walletId(rs.getLong("wallet_id"))
+                .amount(rs.getBigDecimal("amount"))
+                .type(TransactionType.valueOf(rs.getString("type")))
+                .status(TransactionStatus.valueOf(rs.getString("status")))
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .build();
     }
 
-    private Transaction toDomain(TransactionEntity entity) {
+    Transaction toDomain(TransactionEntity entity) {
         return Transaction.builder()
                 .id(entity.getId())
                 .walletId(entity.getWalletId())
@@ -38,7 +122,7 @@ public class TransactionPersistenceAdapter implements LoadTransactionPort, SaveT
                 .build();
     }
 
-    private TransactionEntity toEntity(Transaction transaction) {
+    TransactionEntity toEntity(Transaction transaction) {
         return TransactionEntity.builder()
                 .id(transaction.getId())
                 .walletId(transaction.getWalletId())
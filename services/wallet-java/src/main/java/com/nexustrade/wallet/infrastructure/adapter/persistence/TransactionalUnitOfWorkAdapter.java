@@ -0,0 +1,21 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "wallet.group-commit.enabled", havingValue = "false", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TransactionalUnitOfWorkAdapter implements UnitOfWorkPort {
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
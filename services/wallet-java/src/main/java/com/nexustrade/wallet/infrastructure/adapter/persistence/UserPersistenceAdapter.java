@@ -8,6 +8,8 @@ import com.nexustrade.wallet.infrastructure.adapter.persistence.repository.UserR
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -20,6 +22,11 @@ public class UserPersistenceAdapter implements LoadUserPort, SaveUserPort {
         return userRepository.findByEmail(email).map(this::toDomain);
     }
 
+    @Override
+    public List<User> loadUsersByEmails(Collection<String> emails) {
+        return userRepository.findByEmailIn(emails).stream().map(this::toDomain).toList();
+    }
+
     @Override
     public Optional<User> loadUserById(Long id) {
         return userRepository.findById(id).map(this::toDomain);
@@ -37,7 +44,7 @@ public class UserPersistenceAdapter implements LoadUserPort, SaveUserPort {
         return toDomain(saved);
     }
 
-    private User toDomain(UserEntity entity) {
+    User toDomain(UserEntity entity) {
         return User.builder()
                 .id(entity.getId())
                 .email(entity.getEmail())
@@ -47,7 +54,7 @@ public class UserPersistenceAdapter implements LoadUserPort, SaveUserPort {
                 .build();
     }
 
-    private UserEntity toEntity(User user) {
+    UserEntity toEntity(User user) {
         return UserEntity.builder()
                 .id(user.getId())
                 .email(user.getEmail())
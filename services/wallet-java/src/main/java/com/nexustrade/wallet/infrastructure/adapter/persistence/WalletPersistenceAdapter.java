@@ -5,15 +5,38 @@ import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
 import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
 import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.WalletEntity;
 import com.nexustrade.wallet.infrastructure.adapter.persistence.repository.WalletRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class WalletPersistenceAdapter implements LoadWalletPort, SaveWalletPort {
+    private static final String APPLY_DELTA_SQL = """
+            UPDATE wallets
+               SET balance = balance + ?, held = held + ?, updated_at = clock_timestamp()
+             WHERE user_id = ? AND balance + ? >= 0 AND held + ? >= 0
+            RETURNING id, user_id, balance, held, currency, updated_at
+            """;
+
     private final WalletRepository walletRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer updateApplied;
+    private final Timer updateRejected;
+
+    public WalletPersistenceAdapter(WalletRepository walletRepository, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.walletRepository = walletRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.updateApplied = updateTimer(meterRegistry, "applied");
+        this.updateRejected = updateTimer(meterRegistry, "rejected");
+    }
 
     @Override
     public Optional<Wallet> loadWalletByUserId(Long userId) {
@@ -27,21 +50,56 @@ public class WalletPersistenceAdapter implements LoadWalletPort, SaveWalletPort
         return toDomain(saved);
     }
 
-    private Wallet toDomain(WalletEntity entity) {
+    @Override
+    public Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta) {
+        // Single conditional UPDATE: the row lock serialises concurrent mutations and the
+        // WHERE clause rejects overdrafts without a prior read. clock_timestamp() (not the
+        // transaction start time) keeps updated_at increasing in lock order. The timer includes
+        // the wait for that row lock, so under contention it is mostly lock wait.
+        long start = System.nanoTime();
+        Optional<Wallet> updated = jdbcTemplate.query(APPLY_DELTA_SQL, this::mapRow, delta, heldDelta, userId, delta, heldDelta)
+                .stream()
+                .findFirst();
+        (updated.isPresent() ? updateApplied : updateRejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return updated;
+    }
+
+    private static Timer updateTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("wallet.mutation.row-update")
+                .description("Conditional balance UPDATE, including the wait for the wallet row lock")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Wallet mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return Wallet.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .balance(rs.getBigDecimal("balance"))
+                .held(rs.getBigDecimal("held"))
+                .currency(rs.getString("currency"))
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .build();
+    }
+
+    Wallet toDomain(WalletEntity entity) {
         return Wallet.builder()
                 .id(entity.getId())
                 .userId(entity.getUserId())
                 .balance(entity.getBalance())
+                .held(entity.getHeld())
                 .currency(entity.getCurrency())
                 .updatedAt(entity.getUpdatedAt())
                 .build();
     }
 
-    private WalletEntity toEntity(Wallet wallet) {
+    WalletEntity toEntity(Wallet wallet) {
         return WalletEntity.builder()
                 .id(wallet.getId())
                 .userId(wallet.getUserId())
                 .balance(wallet.getBalance())
+                .held(wallet.getHeld() != null ? wallet.getHeld() : BigDecimal.ZERO)
                 .currency(wallet.getCurrency())
                 .updatedAt(wallet.getUpdatedAt())
                 .build();
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class WalletEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallets_id_seq")
+    @SequenceGenerator(name = "wallets_id_seq", sequenceName = "wallets_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -25,6 +26,9 @@ public class WalletEntity {
     @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal balance;
 
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal held;
+
     @Column(nullable = false)
     private String currency;
 
@@ -0,0 +1,30 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence.repository;
+
+import com.nexustrade.wallet.domain.model.HoldStatus;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.FundsHoldEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FundsHoldRepository extends JpaRepository<FundsHoldEntity, Long> {
+    List<FundsHoldEntity> findByStatusAndExpiresAtBeforeOrderByExpiresAt(HoldStatus status, LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FundsHoldEntity h SET h.status = :to, h.updatedAt = :now WHERE h.id = :id AND h.status = :from")
+    int transition(@Param("id") Long id, @Param("from") HoldStatus from, @Param("to") HoldStatus to,
+                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE FundsHoldEntity h SET h.status = :to, h.updatedAt = :now"
+            + " WHERE h.id = :id AND h.status = :from AND h.expiresAt > :now")
+    int transitionUnexpired(@Param("id") Long id, @Param("from") HoldStatus from, @Param("to") HoldStatus to,
+                            @Param("now") LocalDateTime now);
+}
@@ -4,7 +4,34 @@ import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.Transacti
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<TransactionEntity, Long> {
     Page<TransactionEntity> findByWalletId(Long walletId, Pageable pageable);
+
+    // Literal bounds on created_at are what lets Postgres skip the monthly partitions outside the range
+    @Query("SELECT t FROM TransactionEntity t WHERE t.walletId = :walletId " +
+            "AND t.createdAt >= :from AND t.createdAt < :to")
+    Page<TransactionEntity> findByWalletIdAndCreatedAtRange(@Param("walletId") Long walletId,
+                                                           @Param("from") LocalDateTime from,
+                                                           @Param("to") LocalDateTime to,
+                                                           Pageable pageable);
+
+    @Query(value = "SELECT * FROM transactions WHERE wallet_id = :walletId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TransactionEntity> findLatestByWalletId(@Param("walletId") Long walletId, @Param("limit") int limit);
+
+    // Row-value comparison lets Postgres seek straight into idx_transactions_wallet_created_id;
+    // the redundant created_at bound prunes the partitions newer than the cursor
+    @Query(value = "SELECT * FROM transactions WHERE wallet_id = :walletId " +
+            "AND created_at <= :createdAt AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TransactionEntity> findByWalletIdBefore(@Param("walletId") Long walletId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 @Param("limit") int limit);
 }
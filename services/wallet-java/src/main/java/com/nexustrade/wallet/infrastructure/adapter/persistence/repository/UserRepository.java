@@ -2,9 +2,12 @@ package com.nexustrade.wallet.infrastructure.adapter.persistence.repository;
 
 import com.nexustrade.wallet.infrastructure.adapter.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
+    List<UserEntity> findByEmailIn(Collection<String> emails);
     boolean existsByEmail(String email);
 }
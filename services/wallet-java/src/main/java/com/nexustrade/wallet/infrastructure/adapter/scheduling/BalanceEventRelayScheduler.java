@@ -0,0 +1,33 @@
+package com.nexustrade.wallet.infrastructure.adapter.scheduling;
+
+import com.nexustrade.wallet.domain.port.input.RelayBalanceEventsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "wallet.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceEventRelayScheduler {
+
+    private final RelayBalanceEventsUseCase relayBalanceEventsUseCase;
+
+    @Value("${wallet.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${wallet.outbox.poll-interval-ms:200}")
+    public void relayEvents() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBalanceEventsUseCase.relayBatch(batchSize);
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Balance event relay failed, retrying on the next run", e);
+        }
+    }
+}
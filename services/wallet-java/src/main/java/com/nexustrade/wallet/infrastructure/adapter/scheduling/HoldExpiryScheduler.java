@@ -0,0 +1,30 @@
+package com.nexustrade.wallet.infrastructure.adapter.scheduling;
+
+import com.nexustrade.wallet.domain.port.input.ReserveFundsUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryScheduler {
+
+    private final ReserveFundsUseCase reserveFundsUseCase;
+
+    @Value("${wallet.holds.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${wallet.holds.sweep-interval-ms:5000}")
+    public void releaseExpiredHolds() {
+        int released;
+        do {
+            released = reserveFundsUseCase.expireHolds(batchSize);
+            if (released > 0) {
+                log.info("Released {} expired holds", released);
+            }
+        } while (released == batchSize);
+    }
+}
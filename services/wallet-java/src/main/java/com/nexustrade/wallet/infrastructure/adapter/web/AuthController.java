@@ -3,6 +3,8 @@ package com.nexustrade.wallet.infrastructure.adapter.web;
 import com.nexustrade.wallet.application.service.AuthService;
 import com.nexustrade.wallet.domain.model.User;
 import com.nexustrade.wallet.infrastructure.adapter.web.dto.AuthDto;
+import com.nexustrade.wallet.infrastructure.security.LoginAttemptLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @Value("${jwt.expiration:86400000}")
     private long jwtExpiration;
@@ -27,8 +30,13 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthDto.TokenResponse> login(@RequestBody @Valid AuthDto.LoginRequest request) {
+    public ResponseEntity<AuthDto.TokenResponse> login(
+            @RequestBody @Valid AuthDto.LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        loginAttemptLimiter.acquire(request.getEmail(), httpRequest.getRemoteAddr());
         String token = authService.login(request.getEmail(), request.getPassword());
+        loginAttemptLimiter.succeeded(request.getEmail());
         return ResponseEntity.ok(AuthDto.TokenResponse.builder()
                 .accessToken(token)
                 .expiresIn(jwtExpiration)
@@ -0,0 +1,67 @@
+package com.nexustrade.wallet.infrastructure.adapter.web;
+
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+import com.nexustrade.wallet.domain.model.BulkCreditStatus;
+import com.nexustrade.wallet.domain.port.input.BulkCreditUseCase;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.WalletDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/v1/wallets/internal/bulk-credits")
+@Profile("!ledger-engine")
+@RequiredArgsConstructor
+@Slf4j
+public class BulkCreditController {
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BulkCreditUseCase bulkCreditUseCase;
+
+    @PostMapping(consumes = CSV)
+    public ResponseEntity<WalletDto.BulkCreditJobDetail> submitCsv(InputStream upload) {
+        return submit(upload, BulkCreditFormat.CSV);
+    }
+
+    @PostMapping(consumes = NDJSON)
+    public ResponseEntity<WalletDto.BulkCreditJobDetail> submitNdjson(InputStream upload) {
+        return submit(upload, BulkCreditFormat.NDJSON);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<WalletDto.BulkCreditJobDetail> getJob(@PathVariable Long jobId) {
+        BulkCreditJob job = bulkCreditUseCase.getJob(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Bulk credit job not found"));
+        return ResponseEntity.ok(toDetail(job));
+    }
+
+    private ResponseEntity<WalletDto.BulkCreditJobDetail> submit(InputStream upload, BulkCreditFormat format) {
+        log.info("Received bulk credit upload in {} format", format);
+        BulkCreditJob job = bulkCreditUseCase.submit(upload, format);
+        return ResponseEntity.accepted().body(toDetail(job));
+    }
+
+    private WalletDto.BulkCreditJobDetail toDetail(BulkCreditJob job) {
+        // Until the job completes only unparseable lines are known to be rejected
+        long rejected = job.getStatus() == BulkCreditStatus.COMPLETED
+                ? job.getTotalRows() - job.getAppliedRows()
+                : job.getTotalRows() - job.getStagedRows();
+        return WalletDto.BulkCreditJobDetail.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .totalRows(job.getTotalRows())
+                .stagedRows(job.getStagedRows())
+                .appliedRows(job.getAppliedRows())
+                .rejectedRows(rejected)
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
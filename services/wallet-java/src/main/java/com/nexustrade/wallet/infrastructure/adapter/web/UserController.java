@@ -3,6 +3,7 @@ package com.nexustrade.wallet.infrastructure.adapter.web;
 import com.nexustrade.wallet.domain.model.User;
 import com.nexustrade.wallet.domain.port.output.LoadUserPort;
 import com.nexustrade.wallet.infrastructure.adapter.web.dto.UserProfileDto;
+import com.nexustrade.wallet.infrastructure.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -19,10 +20,9 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<UserProfileDto> getMe(Authentication authentication) {
-        org.springframework.security.core.userdetails.User principal = 
-            (org.springframework.security.core.userdetails.User) authentication.getPrincipal();
-        
-        User user = loadUserPort.loadUserByEmail(principal.getUsername())
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+
+        User user = loadUserPort.loadUserById(principal.userId())
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
         return ResponseEntity.ok(UserProfileDto.builder()
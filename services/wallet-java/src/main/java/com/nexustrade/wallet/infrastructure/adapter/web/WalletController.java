@@ -1,60 +1,181 @@
 package com.nexustrade.wallet.infrastructure.adapter.web;
 
 import com.nexustrade.wallet.application.service.WalletService;
+import com.nexustrade.wallet.domain.model.BalanceOperation;
+import com.nexustrade.wallet.domain.model.BalanceOperationResult;
+import com.nexustrade.wallet.domain.model.BalanceSnapshot;
+import com.nexustrade.wallet.domain.model.FundsHold;
+import com.nexustrade.wallet.domain.model.IdempotentRequest;
+import com.nexustrade.wallet.domain.model.ReadConsistency;
 import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionCursor;
+import com.nexustrade.wallet.domain.model.TransactionSlice;
+import com.nexustrade.wallet.domain.model.TransactionType;
 import com.nexustrade.wallet.domain.model.User;
 import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.model.WalletSummary;
+import com.nexustrade.wallet.domain.port.input.GetBalanceAtUseCase;
+import com.nexustrade.wallet.domain.port.input.GetWalletSummaryUseCase;
+import com.nexustrade.wallet.domain.port.input.ReserveFundsUseCase;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
 import com.nexustrade.wallet.domain.port.output.LoadUserPort;
 import com.nexustrade.wallet.infrastructure.adapter.web.dto.WalletDto;
+import com.nexustrade.wallet.infrastructure.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/v1/wallets")
 @RequiredArgsConstructor
 @Slf4j
 public class WalletController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String CURSOR_SEPARATOR = "|";
+    private static final String CSV_HEADER = "id,walletId,amount,type,status,createdAt\n";
+
     private final WalletService walletService;
     private final LoadUserPort loadUserPort;
+    private final IdempotencyPort idempotencyPort;
+    private final ReserveFundsUseCase reserveFundsUseCase;
+    private final GetBalanceAtUseCase getBalanceAtUseCase;
+    private final GetWalletSummaryUseCase getWalletSummaryUseCase;
+    private final ObjectMapper objectMapper;
+    private final WalletStreamHub walletStreamHub;
+
+    @Value("${wallet.holds.default-ttl-seconds:900}")
+    private long defaultHoldTtlSeconds;
 
     private Long getCurrentUserId(Authentication authentication) {
-        org.springframework.security.core.userdetails.User principal = 
-            (org.springframework.security.core.userdetails.User) authentication.getPrincipal();
-        return loadUserPort.loadUserByEmail(principal.getUsername())
-                .map(User::getId)
-                .orElseThrow(() -> new IllegalStateException("User not found"));
+        return ((AuthenticatedUser) authentication.getPrincipal()).userId();
     }
 
     @GetMapping("/me")
     public ResponseEntity<WalletDto.WalletDetail> getMyWallet(Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
         Wallet wallet = walletService.getMyWallet(userId);
-        return ResponseEntity.ok(WalletDto.WalletDetail.builder()
-                .id(wallet.getId())
-                .balance(wallet.getBalance())
-                .currency(wallet.getCurrency())
-                .updatedAt(wallet.getUpdatedAt())
+        return ResponseEntity.ok(toWalletDetail(wallet));
+    }
+
+    @GetMapping(value = "/me/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMyWallet(Authentication authentication) {
+        Long userId = getCurrentUserId(authentication);
+        // Later updates come from committed mutations, so the starting point must not be a cached copy
+        Wallet wallet = walletService.getMyWallet(userId, ReadConsistency.FRESH);
+        return walletStreamHub.subscribe(userId, toWalletDetail(wallet));
+    }
+
+    @GetMapping("/me/balance")
+    public ResponseEntity<WalletDto.BalanceAtResponse> getBalanceAt(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        Long userId = getCurrentUserId(authentication);
+        BalanceSnapshot snapshot = getBalanceAtUseCase.getBalanceAt(userId, at);
+        return ResponseEntity.ok(WalletDto.BalanceAtResponse.builder()
+                .walletId(snapshot.getWalletId())
+                .balance(snapshot.getBalance())
+                .currency(snapshot.getCurrency())
+                .at(snapshot.getAt())
                 .build());
     }
 
+    @GetMapping("/me/summary")
+    public ResponseEntity<WalletSummary> getSummary(Authentication authentication) {
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(getWalletSummaryUseCase.getMySummary(userId));
+    }
+
     @GetMapping("/me/transactions")
     public ResponseEntity<Page<Transaction>> getTransactions(
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
     ) {
         Long userId = getCurrentUserId(authentication);
-        return ResponseEntity.ok(walletService.getMyTransactions(userId, 
+        return ResponseEntity.ok(walletService.getMyTransactions(userId, from, to,
                 PageRequest.of(page, size, Sort.by("createdAt").descending())));
     }
 
+    @GetMapping("/me/transactions/cursor")
+    public ResponseEntity<WalletDto.TransactionSliceResponse> getTransactionsByCursor(
+            Authentication authentication,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Long userId = getCurrentUserId(authentication);
+        TransactionSlice slice = walletService.getMyTransactions(userId, decodeCursor(cursor), size);
+        return ResponseEntity.ok(WalletDto.TransactionSliceResponse.builder()
+                .transactions(slice.getTransactions())
+                .nextCursor(encodeCursor(slice.getNext()))
+                .build());
+    }
+
+    @GetMapping("/me/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            Authentication authentication,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        Long userId = getCurrentUserId(authentication);
+        boolean csv = switch (format.toLowerCase()) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write(CSV_HEADER);
+            }
+            walletService.exportMyTransactions(userId, transaction -> {
+                try {
+                    writer.write(csv ? toCsvLine(transaction) : objectMapper.writeValueAsString(transaction) + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @PostMapping("/me/deposit")
     public ResponseEntity<WalletDto.WalletDetail> deposit(
             Authentication authentication,
@@ -62,45 +183,173 @@ public class WalletController {
     ) {
         Long userId = getCurrentUserId(authentication);
         Wallet wallet = walletService.deposit(userId, request.getAmount());
-        return ResponseEntity.ok(WalletDto.WalletDetail.builder()
-                .id(wallet.getId())
-                .balance(wallet.getBalance())
-                .currency(wallet.getCurrency())
-                .updatedAt(wallet.getUpdatedAt())
-                .build());
+        return ResponseEntity.ok(toWalletDetail(wallet));
     }
 
     @PostMapping("/internal/withdraw")
-    public ResponseEntity<WalletDto.WalletDetail> internalWithdraw(@RequestBody WalletDto.WithdrawRequest request) {
+    public ResponseEntity<WalletDto.WalletDetail> internalWithdraw(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody WalletDto.WithdrawRequest request
+    ) {
         log.info("Received internal withdraw request for email: {}, amount: {}", request.getEmail(), request.getAmount());
+        IdempotentRequest idempotency = toIdempotentRequest(idempotencyKey, TransactionType.WITHDRAW, request);
+        Optional<Wallet> replayed = replay(idempotency);
+        if (replayed.isPresent()) {
+            return replayResponse(replayed.get());
+        }
+
         Long userId = loadUserPort.loadUserByEmail(request.getEmail())
                 .map(User::getId)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
         
-        Wallet wallet = walletService.withdraw(userId, request.getAmount());
+        Wallet wallet = walletService.withdraw(userId, request.getAmount(), idempotency);
         
-        return ResponseEntity.ok(WalletDto.WalletDetail.builder()
-                .id(wallet.getId())
-                .balance(wallet.getBalance())
-                .currency(wallet.getCurrency())
-                .updatedAt(wallet.getUpdatedAt())
-                .build());
+        return ResponseEntity.ok(toWalletDetail(wallet));
     }
 
     @PostMapping("/internal/deposit")
-    public ResponseEntity<WalletDto.WalletDetail> internalDeposit(@RequestBody WalletDto.WithdrawRequest request) {
+    public ResponseEntity<WalletDto.WalletDetail> internalDeposit(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody WalletDto.WithdrawRequest request
+    ) {
         log.info("Received internal deposit request for email: {}, amount: {}", request.getEmail(), request.getAmount());
+        IdempotentRequest idempotency = toIdempotentRequest(idempotencyKey, TransactionType.DEPOSIT, request);
+        Optional<Wallet> replayed = replay(idempotency);
+        if (replayed.isPresent()) {
+            return replayResponse(replayed.get());
+        }
+
         Long userId = loadUserPort.loadUserByEmail(request.getEmail())
                 .map(User::getId)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
         
-        Wallet wallet = walletService.deposit(userId, request.getAmount());
+        Wallet wallet = walletService.deposit(userId, request.getAmount(), idempotency);
         
-        return ResponseEntity.ok(WalletDto.WalletDetail.builder()
+        return ResponseEntity.ok(toWalletDetail(wallet));
+    }
+
+    @PostMapping("/internal/batch")
+    public ResponseEntity<WalletDto.BatchResponse> internalBatch(@RequestBody @Valid WalletDto.BatchRequest request) {
+        log.info("Received internal batch request with {} operations", request.getOperations().size());
+        List<BalanceOperation> operations = request.getOperations().stream()
+                .map(op -> BalanceOperation.builder()
+                        .email(op.getEmail())
+                        .type(op.getType())
+                        .amount(op.getAmount())
+                        .build())
+                .toList();
+
+        List<BalanceOperationResult> results = walletService.settle(operations);
+
+        List<WalletDto.BatchResult> body = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BalanceOperationResult result = results.get(i);
+            body.add(WalletDto.BatchResult.builder()
+                    .index(i)
+                    .status(result.isSuccess() ? "COMPLETED" : "FAILED")
+                    .wallet(result.isSuccess() ? toWalletDetail(result.getWallet()) : null)
+                    .error(result.getError())
+                    .build());
+        }
+        return ResponseEntity.ok(WalletDto.BatchResponse.builder().results(body).build());
+    }
+
+    @PostMapping("/internal/holds")
+    public ResponseEntity<WalletDto.HoldDetail> internalHold(@RequestBody WalletDto.HoldRequest request) {
+        log.info("Received internal hold request for email: {}, amount: {}", request.getEmail(), request.getAmount());
+        Long userId = loadUserPort.loadUserByEmail(request.getEmail())
+                .map(User::getId)
+                .orElseThrow(() -> new IllegalStateException("User not found"));
+
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultHoldTtlSeconds;
+        FundsHold hold = reserveFundsUseCase.hold(userId, request.getAmount(), Duration.ofSeconds(ttlSeconds));
+
+        return ResponseEntity.ok(WalletDto.HoldDetail.builder()
+                .id(hold.getId())
+                .walletId(hold.getWalletId())
+                .amount(hold.getAmount())
+                .status(hold.getStatus())
+                .expiresAt(hold.getExpiresAt())
+                .build());
+    }
+
+    @PostMapping("/internal/holds/{holdId}/capture")
+    public ResponseEntity<WalletDto.WalletDetail> captureHold(@PathVariable Long holdId) {
+        log.info("Received capture request for hold: {}", holdId);
+        return ResponseEntity.ok(toWalletDetail(reserveFundsUseCase.capture(holdId)));
+    }
+
+    @PostMapping("/internal/holds/{holdId}/release")
+    public ResponseEntity<WalletDto.WalletDetail> releaseHold(@PathVariable Long holdId) {
+        log.info("Received release request for hold: {}", holdId);
+        return ResponseEntity.ok(toWalletDetail(reserveFundsUseCase.release(holdId)));
+    }
+
+    private String toCsvLine(Transaction transaction) {
+        return transaction.getId() + "," + transaction.getWalletId() + "," + transaction.getAmount().toPlainString()
+                + "," + transaction.getType() + "," + transaction.getStatus() + "," + transaction.getCreatedAt() + "\n";
+    }
+
+    private String encodeCursor(TransactionCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.getCreatedAt() + CURSOR_SEPARATOR + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransactionCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            return TransactionCursor.builder()
+                    .createdAt(LocalDateTime.parse(raw.substring(0, separator)))
+                    .id(Long.parseLong(raw.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private IdempotentRequest toIdempotentRequest(String key, TransactionType type, WalletDto.WithdrawRequest request) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        if (key.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most 255 characters");
+        }
+        String amount = request.getAmount() != null ? request.getAmount().stripTrailingZeros().toPlainString() : "";
+        return IdempotentRequest.builder()
+                .key(key)
+                .fingerprint(type + ":" + request.getEmail() + ":" + amount)
+                .build();
+    }
+
+    private Optional<Wallet> replay(IdempotentRequest idempotency) {
+        if (idempotency == null) {
+            return Optional.empty();
+        }
+        Optional<Wallet> stored = idempotencyPort.loadResult(idempotency);
+        stored.ifPresent(wallet -> log.info("Replaying stored result for idempotency key {}", idempotency.getKey()));
+        return stored;
+    }
+
+    private ResponseEntity<WalletDto.WalletDetail> replayResponse(Wallet wallet) {
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                .body(toWalletDetail(wallet));
+    }
+
+    private WalletDto.WalletDetail toWalletDetail(Wallet wallet) {
+        return WalletDto.WalletDetail.builder()
                 .id(wallet.getId())
                 .balance(wallet.getBalance())
+                .held(wallet.getHeld())
                 .currency(wallet.getCurrency())
                 .updatedAt(wallet.getUpdatedAt())
-                .build());
+                .build();
     }
 }
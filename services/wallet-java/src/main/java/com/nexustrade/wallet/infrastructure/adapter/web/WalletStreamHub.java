@@ -0,0 +1,244 @@
+package com.nexustrade.wallet.infrastructure.adapter.web;
+
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.WalletDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open wallet streams of this instance. Updates are fanned out by user without blocking the
+ * caller: each connection has a small queue drained by one of {@code sender-threads} while it has
+ * something to write, and a connection whose queue is full is closed rather than slowing everyone
+ * else down. The client reconnects and starts again from a fresh snapshot. A connection never has
+ * more than one task on the pool, and a write to a client that stopped reading holds its thread
+ * until the container's write timeout ({@code server.tomcat.connection-timeout}) fails it.
+ */
+@Component
+@Slf4j
+public class WalletStreamHub {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final int maxPerUser;
+    private final Duration timeout;
+    private final Duration reconnectDelay;
+    private final Counter dropped;
+    private final Counter sent;
+
+    public WalletStreamHub(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.stream.buffer-size:16}") int bufferSize,
+            @Value("${wallet.stream.max-connections:10000}") int maxConnections,
+            @Value("${wallet.stream.max-per-user:10}") int maxPerUser,
+            @Value("${wallet.stream.timeout:PT30M}") Duration timeout,
+            @Value("${wallet.stream.reconnect-delay:PT3S}") Duration reconnectDelay,
+            @Value("${wallet.stream.sender-threads:32}") int senderThreads
+    ) {
+        // Platform threads: SseEmitter.send() writes while holding a monitor, so a virtual thread stuck
+        // in a write would pin its carrier and stall the other streams along with it
+        this.senders = Executors.newFixedThreadPool(senderThreads,
+                Thread.ofPlatform().name("wallet-stream-", 0).daemon().factory());
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.maxPerUser = maxPerUser;
+        this.timeout = timeout;
+        this.reconnectDelay = reconnectDelay;
+        this.dropped = Counter.builder("wallet.stream.dropped")
+                .description("Streams closed because the client did not keep up")
+                .register(meterRegistry);
+        this.sent = Counter.builder("wallet.stream.sent")
+                .description("Wallet updates and heartbeats written to streams")
+                .register(meterRegistry);
+        Gauge.builder("wallet.stream.connections", connections, AtomicInteger::get)
+                .description("Open wallet streams on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream that starts with {@code snapshot}. The snapshot is queued before the
+     * connection becomes visible to {@link #dispatch}, so it can never overtake a later update.
+     */
+    public SseEmitter subscribe(Long userId, WalletDto.WalletDetail snapshot) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new TooManyRequestsException("Too many open wallet streams", RETRY_AFTER);
+        }
+
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeout.toMillis()), bufferSize);
+        // Spread reconnects, e.g. after a redeploy closes every stream at once
+        long reconnectMillis = reconnectDelay.toMillis() + ThreadLocalRandom.current().nextLong(reconnectDelay.toMillis() + 1);
+        AtomicBoolean admitted = new AtomicBoolean();
+        subscribers.compute(userId, (id, own) -> {
+            Set<Subscriber> set = own != null ? own : ConcurrentHashMap.newKeySet();
+            if (set.size() < maxPerUser) {
+                offer(subscriber, walletEvent(snapshot).reconnectTime(reconnectMillis));
+                set.add(subscriber);
+                admitted.set(true);
+            }
+            return set.isEmpty() ? null : set;
+        });
+        if (!admitted.get()) {
+            connections.decrementAndGet();
+            throw new TooManyRequestsException("Too many open wallet streams for this user", RETRY_AFTER);
+        }
+
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Pushes the wallet state after outbox event {@code eventId} to the user's streams. Events
+     * already superseded on a stream are skipped.
+     */
+    public void dispatch(Long userId, long eventId, WalletDto.WalletDetail wallet) {
+        Set<Subscriber> own = subscribers.get(userId);
+        if (own == null) {
+            return;
+        }
+        for (Subscriber subscriber : own) {
+            if (subscriber.advance(eventId)) {
+                offer(subscriber, walletEvent(wallet).id(Long.toString(eventId)));
+            }
+        }
+    }
+
+    /**
+     * Closes every stream, e.g. after updates may have been missed; clients reconnect and get a
+     * fresh snapshot.
+     */
+    public void disconnectAll() {
+        subscribers.values().forEach(own -> own.forEach(this::close));
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        // Keeps idle connections open through proxies and detects clients that went away
+        subscribers.values().forEach(own -> own.forEach(subscriber ->
+                offer(subscriber, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    @PreDestroy
+    void stop() {
+        disconnectAll();
+        senders.shutdown();
+    }
+
+    private SseEmitter.SseEventBuilder walletEvent(WalletDto.WalletDetail wallet) {
+        return SseEmitter.event().name("wallet").data(wallet, MediaType.APPLICATION_JSON);
+    }
+
+    private void offer(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            log.debug("Closing wallet stream of user {}, {} updates behind", subscriber.userId, bufferSize);
+            dropped.increment();
+            close(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!subscriber.closed.get() && (event = subscriber.queue.poll()) != null) {
+                    subscriber.emitter.send(event);
+                    sent.increment();
+                }
+                if (subscriber.closed.get()) {
+                    // Keeps draining set, so nothing is scheduled for this stream again
+                    subscriber.emitter.complete();
+                    return;
+                }
+                subscriber.draining.set(false);
+                // An offer or a close may have landed between the last check and clearing the flag
+            } while ((subscriber.closed.get() || !subscriber.queue.isEmpty())
+                    && subscriber.draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            remove(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        // complete() waits for a send in progress, so it is left to the stream's own drain rather
+        // than tying up a second thread behind a stuck client
+        schedule(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        subscriber.queue.clear();
+        subscribers.computeIfPresent(subscriber.userId, (id, own) -> {
+            own.remove(subscriber);
+            return own.isEmpty() ? null : own;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong lastEventId = new AtomicLong();
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean advance(long eventId) {
+            long last;
+            do {
+                last = lastEventId.get();
+                if (eventId <= last) {
+                    return false;
+                }
+            } while (!lastEventId.compareAndSet(last, eventId));
+            return true;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.nexustrade.wallet.infrastructure.adapter.web.dto;
 
+import com.nexustrade.wallet.domain.model.BulkCreditStatus;
+import com.nexustrade.wallet.domain.model.HoldStatus;
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class WalletDto {
     @Data
@@ -11,10 +18,27 @@ public class WalletDto {
     public static class WalletDetail {
         private Long id;
         private BigDecimal balance;
+        private BigDecimal held;
         private String currency;
         private LocalDateTime updatedAt;
     }
 
+    @Data
+    @Builder
+    public static class BalanceAtResponse {
+        private Long walletId;
+        private BigDecimal balance;
+        private String currency;
+        private LocalDateTime at;
+    }
+
+    @Data
+    @Builder
+    public static class TransactionSliceResponse {
+        private List<Transaction> transactions;
+        private String nextCursor;
+    }
+
     @Data
     public static class DepositRequest {
         private BigDecimal amount;
@@ -25,4 +49,63 @@ public class WalletDto {
         private String email;
         private BigDecimal amount;
     }
+
+    @Data
+    public static class BatchRequest {
+        @NotEmpty @Size(max = 1000)
+        private List<BatchOperation> operations;
+    }
+
+    @Data
+    public static class BatchOperation {
+        private String email;
+        private TransactionType type;
+        private BigDecimal amount;
+    }
+
+    @Data
+    @Builder
+    public static class BatchResponse {
+        private List<BatchResult> results;
+    }
+
+    @Data
+    @Builder
+    public static class BatchResult {
+        private int index;
+        private String status;
+        private WalletDetail wallet;
+        private String error;
+    }
+
+    @Data
+    public static class HoldRequest {
+        private String email;
+        private BigDecimal amount;
+        private Long ttlSeconds;
+    }
+
+    @Data
+    @Builder
+    public static class HoldDetail {
+        private Long id;
+        private Long walletId;
+        private BigDecimal amount;
+        private HoldStatus status;
+        private LocalDateTime expiresAt;
+    }
+
+    @Data
+    @Builder
+    public static class BulkCreditJobDetail {
+        private Long id;
+        private BulkCreditStatus status;
+        private long totalRows;
+        private long stagedRows;
+        private long appliedRows;
+        private long rejectedRows;
+        private String error;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+    }
 }
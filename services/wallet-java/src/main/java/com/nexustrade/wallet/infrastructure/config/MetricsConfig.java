@@ -0,0 +1,49 @@
+package com.nexustrade.wallet.infrastructure.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "wallet.metrics.count-statements", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder statementCountMetrics() {
+        return registry -> FunctionCounter.builder("wallet.db.statements", StatementCountingDataSource.class,
+                        type -> StatementCountingDataSource.total())
+                .description("Database round trips across all threads")
+                .baseUnit("statements")
+                .register(registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(MeterRegistry meterRegistry) {
+        // Outermost, so statements issued by the security filters are counted too
+        FilterRegistrationBean<StatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new StatementMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,353 @@
+package com.nexustrade.wallet.infrastructure.config;
+
+import com.nexustrade.wallet.domain.port.output.PasswordEncoderPort;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.TransactionPartitionMaintainer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Fills a performance environment with synthetic users, wallets and transaction histories. Rows
+ * are written through parallel COPY streams, one connection per stream, and every user shares a
+ * single pre-computed password hash. Histories are skewed: one user in {@code users / whales} gets
+ * {@code whale-transactions} rows, the rest a geometric number around {@code transactions-per-user}.
+ * Everything derives from {@code random-seed}, so two runs with the same settings produce the same data.
+ * Each stream's range of users is written in one transaction, so a run that fails part way can simply
+ * be started again: ranges already present are skipped and the rest are seeded.
+ */
+@Configuration
+@Profile("perf-seed")
+@RequiredArgsConstructor
+@Slf4j
+public class PerformanceDataSeeder {
+    private static final String EMAIL_PREFIX = "perf-";
+    private static final String EMAIL_DOMAIN = "@nexustrade.com";
+    private static final int COPY_BUFFER_SIZE = 1 << 20;
+    // Amounts are generated in cents: deposits of 10.00 to 5,000.00
+    private static final long MIN_DEPOSIT_CENTS = 1_000;
+    private static final long MAX_DEPOSIT_CENTS = 500_000;
+    private static final double WITHDRAW_PROBABILITY = 0.4;
+    private static final String AGGREGATE_SQL = """
+            INSERT INTO wallet_transaction_aggregates (wallet_id, period, bucket_start, type, amount, tx_count)
+            SELECT t.wallet_id, b.period, b.bucket_start, t.type, sum(t.amount), count(*)
+              FROM transactions t
+             CROSS JOIN LATERAL (VALUES ('DAY', (t.created_at AT TIME ZONE 'UTC')::date),
+                                        ('MONTH', date_trunc('month', t.created_at AT TIME ZONE 'UTC')::date),
+                                        ('ALL', DATE '1970-01-01')) AS b (period, bucket_start)
+             WHERE t.wallet_id >= ? AND t.wallet_id < ?
+             GROUP BY t.wallet_id, b.period, b.bucket_start, t.type
+            """;
+    // Same cadence as the application: a checkpoint every N transactions and one at the latest
+    private static final String CHECKPOINT_SQL = """
+            INSERT INTO balance_checkpoints (wallet_id, transaction_id, created_at, balance)
+            SELECT wallet_id, id, created_at, balance
+              FROM (SELECT wallet_id, id, created_at,
+                           sum(CASE type WHEN 'DEPOSIT' THEN amount ELSE -amount END) OVER history AS balance,
+                           row_number() OVER history AS n,
+                           count(*) OVER (PARTITION BY wallet_id) AS total
+                      FROM transactions
+                     WHERE wallet_id >= ? AND wallet_id < ?
+                    WINDOW history AS (PARTITION BY wallet_id ORDER BY created_at, id)) running
+             WHERE n % ? = 0 OR n = total
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoderPort passwordEncoder;
+    private final TransactionPartitionMaintainer partitionMaintainer;
+
+    @Value("${wallet.perf-seed.users:1000000}")
+    private int users;
+
+    @Value("${wallet.perf-seed.whales:100}")
+    private int whales;
+
+    @Value("${wallet.perf-seed.whale-transactions:200000}")
+    private int whaleTransactions;
+
+    @Value("${wallet.perf-seed.transactions-per-user:20}")
+    private double transactionsPerUser;
+
+    @Value("${wallet.perf-seed.history:P365D}")
+    private Duration history;
+
+    @Value("${wallet.perf-seed.streams:4}")
+    private int streams;
+
+    @Value("${wallet.perf-seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${wallet.perf-seed.password:perfPassword123}")
+    private String password;
+
+    @Value("${wallet.checkpoints.every-transactions:500}")
+    private int checkpointEvery;
+
+    @Bean
+    public CommandLineRunner seedPerformanceData() {
+        return args -> {
+            long started = System.nanoTime();
+            Instant end = Instant.now();
+            Instant start = end.minus(history);
+
+            int[] transactionCounts = new int[users];
+            long totalTransactions = 0;
+            for (int i = 0; i < users; i++) {
+                transactionCounts[i] = transactionCount(i);
+                totalTransactions += transactionCounts[i];
+            }
+            log.info("Seeding {} users with {} transactions over {} streams", users, totalTransactions, streams);
+
+            String passwordHash = passwordEncoder.encode(password);
+            long userBase = reserveIds("users_id_seq", users);
+            long walletBase = reserveIds("wallets_id_seq", users);
+            long transactionBase = reserveIds("transactions_id_seq", totalTransactions);
+            partitionMaintainer.ensurePartitions(YearMonth.from(start.atZone(ZoneOffset.UTC)),
+                    YearMonth.from(end.atZone(ZoneOffset.UTC)));
+
+            ExecutorService executor = Executors.newFixedThreadPool(streams,
+                    Thread.ofPlatform().name("perf-seed-", 0).factory());
+            try {
+                List<Future<?>> results = new ArrayList<>(streams);
+                int perStream = (users + streams - 1) / streams;
+                long transactionOffset = 0;
+                for (int from = 0; from < users; from += perStream) {
+                    int to = Math.min(users, from + perStream);
+                    Range range = new Range(from, to, userBase, walletBase, transactionBase + transactionOffset);
+                    for (int i = from; i < to; i++) {
+                        transactionOffset += transactionCounts[i];
+                    }
+                    results.add(executor.submit(() -> {
+                        seedRange(range, transactionCounts, passwordHash, start, end);
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Performance data seeding failed", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+
+            jdbcTemplate.execute("ANALYZE users, wallets, transactions, wallet_transaction_aggregates, balance_checkpoints");
+            log.info("Seeded {} users and {} transactions in {} s", users, totalTransactions,
+                    Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        };
+    }
+
+    private int transactionCount(int index) {
+        if (whales > 0 && index % Math.max(1, users / whales) == 0) {
+            return whaleTransactions;
+        }
+        // Geometric with mean transactionsPerUser; most users have short histories, a few long ones
+        double p = 1 / (transactionsPerUser + 1);
+        double u = random(index, 0).nextDouble();
+        return (int) Math.min(Integer.MAX_VALUE, Math.floor(Math.log1p(-u) / Math.log1p(-p)));
+    }
+
+    /**
+     * Takes {@code count} consecutive ids from a sequence. The sequence ends up past the block, so
+     * later inserts, including Hibernate's pooled blocks of 50, never collide with seeded rows.
+     */
+    private long reserveIds(String sequence, long count) {
+        return jdbcTemplate.queryForObject("SELECT setval(?::regclass, nextval(?::regclass) + ?) - ?",
+                Long.class, sequence, sequence, count, count);
+    }
+
+    private void seedRange(Range range, int[] transactionCounts, String passwordHash, Instant start, Instant end)
+            throws SQLException, IOException {
+        // Ranges commit as a whole; a range that is only half there was cut by a different stream count
+        boolean firstSeeded = userExists(range.from());
+        if (firstSeeded != userExists(range.to() - 1)) {
+            throw new IllegalStateException("Users " + (range.from() + 1) + " to " + range.to()
+                    + " are partly seeded; run again with the streams setting of the earlier run");
+        }
+        if (firstSeeded) {
+            log.info("Users {} to {} already seeded, skipping", range.from() + 1, range.to());
+            return;
+        }
+
+        long[] balances = new long[range.to() - range.from()];
+        Instant[] lastActivity = new Instant[balances.length];
+        for (int i = range.from(); i < range.to(); i++) {
+            History history = new History(i, transactionCounts[i], start, end);
+            while (history.next()) {
+                // Only the outcome is needed here; the rows are generated again while copying
+            }
+            balances[i - range.from()] = history.balanceCents;
+            lastActivity[i - range.from()] = history.createdAt;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                copyRange(connection, range, transactionCounts, passwordHash, balances, lastActivity, start, end);
+                aggregate(connection, range);
+                checkpoint(connection, range, checkpointEvery);
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+        log.info("Seeded users {} to {}", range.from() + 1, range.to());
+    }
+
+    private void copyRange(Connection connection, Range range, int[] transactionCounts, String passwordHash,
+                           long[] balances, Instant[] lastActivity, Instant start, Instant end)
+            throws SQLException, IOException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        try (Writer out = copy(pg, "users (id, email, password_hash, full_name, created_at)")) {
+            for (int i = range.from(); i < range.to(); i++) {
+                out.write(range.userBase() + i + "," + email(i) + "," + passwordHash
+                        + ",Perf User " + (i + 1) + "," + start + "\n");
+            }
+        }
+
+        try (Writer out = copy(pg, "wallets (id, user_id, balance, currency, updated_at)")) {
+            for (int i = range.from(); i < range.to(); i++) {
+                int slot = i - range.from();
+                out.write(range.walletBase() + i + "," + (range.userBase() + i) + ","
+                        + cents(balances[slot]) + ",USD," + lastActivity[slot] + "\n");
+            }
+        }
+
+        long transactionId = range.transactionBase();
+        try (Writer out = copy(pg, "transactions (id, wallet_id, amount, type, status, created_at)")) {
+            for (int i = range.from(); i < range.to(); i++) {
+                long walletId = range.walletBase() + i;
+                History history = new History(i, transactionCounts[i], start, end);
+                while (history.next()) {
+                    out.write(transactionId++ + "," + walletId + "," + cents(history.amountCents) + ","
+                            + history.type + ",COMPLETED," + history.createdAt + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the range's transaction aggregates from the rows just copied, as the V11 backfill does.
+     */
+    private static void aggregate(Connection connection, Range range) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(AGGREGATE_SQL)) {
+            statement.setLong(1, range.walletBase() + range.from());
+            statement.setLong(2, range.walletBase() + range.to());
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Writes the range's balance checkpoints from the rows just copied.
+     */
+    private static void checkpoint(Connection connection, Range range, int every) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CHECKPOINT_SQL)) {
+            statement.setLong(1, range.walletBase() + range.from());
+            statement.setLong(2, range.walletBase() + range.to());
+            statement.setInt(3, every);
+            statement.executeUpdate();
+        }
+    }
+
+    private boolean userExists(int index) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM users WHERE email = ?)", Boolean.class, email(index)));
+    }
+
+    private static Writer copy(PGConnection connection, String target) throws SQLException {
+        String sql = "COPY " + target + " FROM STDIN WITH (FORMAT csv)";
+        return new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+    }
+
+    private static String email(int index) {
+        return EMAIL_PREFIX + (index + 1) + EMAIL_DOMAIN;
+    }
+
+    private static String cents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private SplittableRandom random(int index, int stream) {
+        return new SplittableRandom(randomSeed * 31 + index * 2L + stream);
+    }
+
+    private record Range(int from, int to, long userBase, long walletBase, long transactionBase) {
+    }
+
+    /**
+     * Replays one user's history deterministically: timestamps spread over the window in order,
+     * the first transaction a deposit and no withdrawal larger than the running balance.
+     */
+    private class History {
+        private final SplittableRandom random;
+        private final int count;
+        private final long startMicros;
+        private final long spanMicros;
+        private int generated;
+
+        long balanceCents;
+        long amountCents;
+        String type;
+        Instant createdAt;
+
+        History(int index, int count, Instant start, Instant end) {
+            this.random = random(index, 1);
+            this.count = count;
+            this.startMicros = start.toEpochMilli() * 1000;
+            this.spanMicros = Duration.between(start, end).toNanos() / 1000;
+            this.createdAt = start;
+        }
+
+        boolean next() {
+            if (generated == count) {
+                return false;
+            }
+            long offset = (long) ((generated + random.nextDouble()) * spanMicros / count);
+            createdAt = Instant.EPOCH.plusNanos((startMicros + offset) * 1000);
+            if (balanceCents > 0 && random.nextDouble() < WITHDRAW_PROBABILITY) {
+                amountCents = random.nextLong(1, balanceCents + 1);
+                balanceCents -= amountCents;
+                type = "WITHDRAW";
+            } else {
+                amountCents = random.nextLong(MIN_DEPOSIT_CENTS, MAX_DEPOSIT_CENTS + 1);
+                balanceCents += amountCents;
+                type = "DEPOSIT";
+            }
+            generated++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.nexustrade.wallet.infrastructure.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts statement executions (database round trips) on connections handed out by the pool.
+ * Every {@code execute*} call counts once, so a JDBC batch is one round trip. Counts are kept in
+ * total and, between {@link #startCounting()} and {@link #stopCounting()}, for the current thread.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+    private static final LongAdder TOTAL = new LongAdder();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    static void startCounting() {
+        CURRENT.set(new long[1]);
+    }
+
+    static long stopCounting() {
+        long[] count = CURRENT.get();
+        CURRENT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    static long total() {
+        return TOTAL.sum();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (isEquals(method)) {
+                        return proxy == args[0];
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return countingStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object countingStatement(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (isEquals(method)) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().startsWith("execute")) {
+                        TOTAL.increment();
+                        long[] count = CURRENT.get();
+                        if (count != null) {
+                            count[0]++;
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static boolean isEquals(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
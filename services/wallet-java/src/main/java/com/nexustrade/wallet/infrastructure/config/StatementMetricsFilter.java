@@ -0,0 +1,44 @@
+package com.nexustrade.wallet.infrastructure.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many statements each request sent to the database, tagged by route. Work handed to
+ * other threads (streamed exports, group commits) is only counted in the total.
+ */
+@RequiredArgsConstructor
+public class StatementMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        StatementCountingDataSource.startCounting();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = StatementCountingDataSource.stopCounting();
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("wallet.db.statements.per-request")
+                    .description("Database round trips made while serving one request")
+                    .baseUnit("statements")
+                    .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
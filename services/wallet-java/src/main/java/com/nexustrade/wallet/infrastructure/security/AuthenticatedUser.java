@@ -0,0 +1,14 @@
+package com.nexustrade.wallet.infrastructure.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built straight from verified token claims, so resolving the caller needs no user lookup.
+ */
+public record AuthenticatedUser(Long userId, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
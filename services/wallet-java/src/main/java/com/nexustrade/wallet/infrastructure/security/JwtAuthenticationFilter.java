@@ -1,5 +1,7 @@
 package com.nexustrade.wallet.infrastructure.security;
 
+import com.nexustrade.wallet.domain.model.VerifiedToken;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
 import com.nexustrade.wallet.domain.port.output.TokenProviderPort;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,20 +11,20 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenProviderPort tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final LoadUserPort loadUserPort;
 
     @Override
     protected void doFilterInternal(
@@ -32,25 +34,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = tokenProvider.getUsernameFromToken(jwt);
+        // Single verification: signature, expiry and claims come from one (possibly cached) parse
+        Optional<VerifiedToken> token = tokenProvider.verifyToken(authHeader.substring(7));
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            
-            if (tokenProvider.validateToken(jwt)) {
+        if (token.isPresent() && token.get().getSubject() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<AuthenticatedUser> principal = toPrincipal(token.get());
+            if (principal.isPresent()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal.get(),
                         null,
-                        userDetails.getAuthorities()
+                        List.of()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -58,4 +58,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private Optional<AuthenticatedUser> toPrincipal(VerifiedToken token) {
+        if (token.getUserId() != null) {
+            return Optional.of(new AuthenticatedUser(token.getUserId(), token.getSubject()));
+        }
+        // Tokens issued before the user id claim still need one lookup until they expire
+        return loadUserPort.loadUserByEmail(token.getSubject())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail()));
+    }
 }
@@ -1,30 +1,95 @@
 package com.nexustrade.wallet.infrastructure.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.model.VerifiedToken;
 import com.nexustrade.wallet.domain.port.output.TokenProviderPort;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Issues and verifies HS256 tokens. The key and parser are built once; tokens that already passed
+ * verification are remembered by SHA-256 digest until they expire, so a client re-sending the same
+ * token skips the HMAC check and claims parsing. Verification time is published as
+ * {@code wallet.jwt.verify}, tagged with whether the token came from the cache.
+ */
 @Component
 public class JwtProviderAdapter implements TokenProviderPort {
+    static final String USER_ID_CLAIM = "uid";
 
-    @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
-    private String secretKey;
+    private final Key signInKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final Cache<String, VerifiedToken> verified;
+    private final Timer verifyCached;
+    private final Timer verifyParsed;
+    private final Timer verifyRejected;
 
-    @Value("${jwt.expiration:86400000}")
-    private long jwtExpiration;
+    public JwtProviderAdapter(
+            @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}") String secretKey,
+            @Value("${jwt.expiration:86400000}") long jwtExpiration,
+            @Value("${jwt.verified-cache-size:10000}") long verifiedCacheSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.verifyCached = verifyTimer(meterRegistry, "cached");
+        this.verifyParsed = verifyTimer(meterRegistry, "parsed");
+        this.verifyRejected = verifyTimer(meterRegistry, "rejected");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("wallet.jwt.verify")
+                .description("Bearer token verification")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     @Override
     public String generateToken(User user) {
-        return generateToken(new HashMap<>(), user);
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        return generateToken(claims, user);
     }
 
     public String generateToken(Map<String, Object> extraClaims, User user) {
@@ -33,35 +98,60 @@ public class JwtProviderAdapter implements TokenProviderPort {
                 .setSubject(user.getEmail())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     @Override
     public String getUsernameFromToken(String token) {
-        return extractAllClaims(token).getSubject();
+        return verifyToken(token).map(VerifiedToken::getSubject).orElse(null);
     }
 
     @Override
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSignInKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return verifyToken(token).isPresent();
+    }
+
+    @Override
+    public Optional<VerifiedToken> verifyToken(String token) {
+        long start = System.nanoTime();
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            verifyCached.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(cached);
         }
+
+        Optional<VerifiedToken> result = parse(token, digest);
+        (result.isPresent() ? verifyParsed : verifyRejected).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private Optional<VerifiedToken> parse(String token, String digest) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            Number userId = claims.get(USER_ID_CLAIM, Number.class);
+            VerifiedToken result = VerifiedToken.builder()
+                    .subject(claims.getSubject())
+                    .userId(userId != null ? userId.longValue() : null)
+                    .expiresAt(claims.getExpiration().toInstant())
+                    .build();
+            verified.put(digest, result);
+            return Optional.of(result);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,94 @@
+package com.nexustrade.wallet.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window limit on sign-in attempts per email and per client address, checked before any
+ * password hashing. Every attempt counts, so a parallel burst is cut off without waiting for its
+ * failures; a successful login clears the email's window.
+ */
+@Component
+public class LoginAttemptLimiter {
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxPerEmail;
+    private final int maxPerAddress;
+    private final Cache<String, AtomicInteger> attempts;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByAddress;
+
+    public LoginAttemptLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.auth.login-limits.enabled:true}") boolean enabled,
+            @Value("${wallet.auth.login-limits.window:PT1M}") Duration window,
+            @Value("${wallet.auth.login-limits.max-attempts-per-email:10}") int maxPerEmail,
+            @Value("${wallet.auth.login-limits.max-attempts-per-ip:50}") int maxPerAddress,
+            @Value("${wallet.auth.login-limits.tracked-keys:100000}") long trackedKeys
+    ) {
+        this.enabled = enabled;
+        this.window = window;
+        this.maxPerEmail = maxPerEmail;
+        this.maxPerAddress = maxPerAddress;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(trackedKeys)
+                .expireAfterWrite(window)
+                .build();
+        this.rejectedByEmail = meterRegistry.counter("wallet.login.limited", "key", "email");
+        this.rejectedByAddress = meterRegistry.counter("wallet.login.limited", "key", "ip");
+    }
+
+    /**
+     * Counts an attempt and throws if either the email or the address is over its limit.
+     */
+    public void acquire(String email, String address) {
+        if (!enabled) {
+            return;
+        }
+        String addressKey = "ip:" + address;
+        if (increment(addressKey) > maxPerAddress) {
+            rejectedByAddress.increment();
+            throw limited(addressKey);
+        }
+        if (email != null) {
+            String emailKey = emailKey(email);
+            if (increment(emailKey) > maxPerEmail) {
+                rejectedByEmail.increment();
+                throw limited(emailKey);
+            }
+        }
+    }
+
+    public void succeeded(String email) {
+        if (enabled && email != null) {
+            attempts.invalidate(emailKey(email));
+        }
+    }
+
+    private int increment(String key) {
+        // The window starts with the first attempt; incrementing in place does not extend it
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private TooManyRequestsException limited(String key) {
+        Duration age = attempts.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(key))
+                .orElse(Duration.ZERO);
+        Duration retryAfter = window.minus(age);
+        return new TooManyRequestsException("Too many sign-in attempts, retry later",
+                retryAfter.isNegative() ? Duration.ZERO : retryAfter);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,26 +1,123 @@
 package com.nexustrade.wallet.infrastructure.security;
 
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
 import com.nexustrade.wallet.domain.port.output.PasswordEncoderPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt runs on its own small pool with a bounded queue, so a burst of logins cannot take every
+ * core away from the trading endpoints. When the queue is full, or a caller waited longer than
+ * {@code timeout}, the request is refused with {@link TooManyRequestsException} instead of piling
+ * up. Pool and queue state are published as {@code executor.*} metrics with {@code name=bcrypt}.
+ */
 @Component
 public class PasswordEncoderAdapter implements PasswordEncoderPort {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final int strength;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
 
-    private final PasswordEncoder passwordEncoder;
+    public PasswordEncoderAdapter(
+            MeterRegistry meterRegistry,
+            @Value("${wallet.auth.bcrypt-strength:10}") int strength,
+            @Value("${wallet.auth.hashing.threads:0}") int threads,
+            @Value("${wallet.auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${wallet.auth.hashing.timeout:PT5S}") Duration timeout
+    ) {
+        this.passwordEncoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeout = timeout;
 
-    public PasswordEncoderAdapter() {
-        this.passwordEncoder = new BCryptPasswordEncoder();
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("bcrypt-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "bcrypt");
+
+        this.encodeTimer = bcryptTimer(meterRegistry, "encode");
+        this.matchesTimer = bcryptTimer(meterRegistry, "matches");
+        this.rejected = meterRegistry.counter("wallet.password.rejected");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 
     @Override
     public String encode(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return hash(encodeTimer, () -> passwordEncoder.encode(rawPassword));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return hash(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        // Unlike BCryptPasswordEncoder.upgradeEncoding, a lowered cost also triggers a rehash
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return !matcher.find() || Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    private <T> T hash(Timer timer, Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(work));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent sign-in attempts, retry later", RETRY_AFTER);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent sign-in attempts, retry later", RETRY_AFTER);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static Timer bcryptTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("wallet.password.bcrypt")
+                .description("BCrypt hashing and verification, excluding time queued")
+                .tag("operation", operation)
+                .register(meterRegistry);
     }
 }
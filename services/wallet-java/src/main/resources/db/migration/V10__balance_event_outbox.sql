@@ -0,0 +1,14 @@
+-- Written in the same transaction as each balance change and deleted once relayed. No foreign
+-- keys: the outbox must never block or cascade with the ledger tables.
+CREATE TABLE balance_event_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    wallet_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    transaction_id BIGINT,
+    type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 4) NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    held DECIMAL(19, 4) NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
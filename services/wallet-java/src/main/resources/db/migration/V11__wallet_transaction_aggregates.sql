@@ -0,0 +1,29 @@
+-- Running totals per wallet, transaction type and UTC bucket, maintained in the transaction that
+-- inserts each transaction. ALL holds the all-time totals under a fixed bucket_start.
+CREATE TABLE wallet_transaction_aggregates (
+    wallet_id BIGINT NOT NULL REFERENCES wallets(id) ON DELETE CASCADE,
+    period VARCHAR(10) NOT NULL, -- DAY, MONTH, ALL
+    bucket_start DATE NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 4) NOT NULL,
+    tx_count BIGINT NOT NULL,
+    PRIMARY KEY (wallet_id, period, bucket_start, type)
+);
+
+INSERT INTO wallet_transaction_aggregates (wallet_id, period, bucket_start, type, amount, tx_count)
+SELECT wallet_id, 'DAY', (created_at AT TIME ZONE 'UTC')::date, type, SUM(amount), COUNT(*)
+  FROM transactions
+ WHERE status = 'COMPLETED'
+ GROUP BY wallet_id, (created_at AT TIME ZONE 'UTC')::date, type;
+
+INSERT INTO wallet_transaction_aggregates (wallet_id, period, bucket_start, type, amount, tx_count)
+SELECT wallet_id, 'MONTH', date_trunc('month', created_at AT TIME ZONE 'UTC')::date, type, SUM(amount), COUNT(*)
+  FROM transactions
+ WHERE status = 'COMPLETED'
+ GROUP BY wallet_id, date_trunc('month', created_at AT TIME ZONE 'UTC')::date, type;
+
+INSERT INTO wallet_transaction_aggregates (wallet_id, period, bucket_start, type, amount, tx_count)
+SELECT wallet_id, 'ALL', DATE '1970-01-01', type, SUM(amount), COUNT(*)
+  FROM transactions
+ WHERE status = 'COMPLETED'
+ GROUP BY wallet_id, type;
@@ -0,0 +1,14 @@
+-- Opening checkpoint for wallets that predate balance_checkpoints, at their latest transaction, so
+-- point-in-time balances after it no longer replay the whole history (which may also have been
+-- detached by partition retention). Assumes no old instances are writing while this runs.
+INSERT INTO balance_checkpoints (wallet_id, transaction_id, created_at, balance)
+SELECT w.id, t.id, COALESCE(t.created_at, now()), w.balance
+  FROM wallets w
+  LEFT JOIN LATERAL (
+        SELECT id, created_at
+          FROM transactions
+         WHERE wallet_id = w.id
+         ORDER BY created_at DESC, id DESC
+         LIMIT 1
+       ) t ON true
+ WHERE NOT EXISTS (SELECT 1 FROM balance_checkpoints c WHERE c.wallet_id = w.id);
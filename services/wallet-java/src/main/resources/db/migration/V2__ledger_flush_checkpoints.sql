@@ -0,0 +1,5 @@
+CREATE TABLE ledger_flush_checkpoints (
+    shard INT PRIMARY KEY,
+    last_seq BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
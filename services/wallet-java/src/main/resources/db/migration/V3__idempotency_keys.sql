@@ -0,0 +1,13 @@
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint VARCHAR(512) NOT NULL,
+    wallet_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL,
+    currency VARCHAR(10) NOT NULL,
+    wallet_updated_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
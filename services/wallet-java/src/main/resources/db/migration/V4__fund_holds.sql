@@ -0,0 +1,16 @@
+ALTER TABLE wallets ADD COLUMN held DECIMAL(19, 4) NOT NULL DEFAULT 0.0000;
+ALTER TABLE idempotency_keys ADD COLUMN held DECIMAL(19, 4);
+
+CREATE TABLE fund_holds (
+    id BIGSERIAL PRIMARY KEY,
+    wallet_id BIGINT NOT NULL REFERENCES wallets(id) ON DELETE CASCADE,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(19, 4) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- ACTIVE, CAPTURED, RELEASED, EXPIRED
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Sweeper scans only active holds by expiry
+CREATE INDEX idx_fund_holds_active_expiry ON fund_holds (expires_at) WHERE status = 'ACTIVE';
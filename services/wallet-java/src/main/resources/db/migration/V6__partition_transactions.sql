@@ -0,0 +1,47 @@
+-- Monthly range partitions on created_at. The primary key has to include the partition key;
+-- ids still come from the original sequence so existing references stay valid.
+-- The copy below holds an exclusive lock on transactions until the migration commits, so deploy
+-- this version in a maintenance window sized to the table.
+ALTER TABLE transactions RENAME TO transactions_legacy;
+
+CREATE TABLE transactions (
+    id BIGINT NOT NULL DEFAULT nextval('transactions_id_seq'),
+    wallet_id BIGINT NOT NULL REFERENCES wallets(id) ON DELETE CASCADE,
+    amount DECIMAL(19, 4) NOT NULL,
+    type VARCHAR(20) NOT NULL, -- DEPOSIT, WITHDRAW, HOLD, CAPTURE, RELEASE
+    status VARCHAR(20) NOT NULL, -- PENDING, COMPLETED, FAILED
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Partitions from the oldest existing row up to three months ahead; TransactionPartitionMaintainer
+-- keeps the window moving from here on
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', now() AT TIME ZONE 'UTC') + INTERVAL '3 months')::date;
+BEGIN
+    month_start := date_trunc('month', COALESCE(
+            (SELECT MIN(created_at) FROM transactions_legacy), now()) AT TIME ZONE 'UTC')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                'transactions_' || to_char(month_start, '"y"YYYY"m"MM'),
+                month_start::text || ' 00:00:00+00',
+                (month_start + INTERVAL '1 month')::date::text || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Safety net if partition maintenance falls behind; should stay empty
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+INSERT INTO transactions (id, wallet_id, amount, type, status, created_at)
+SELECT id, wallet_id, amount, type, status, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM transactions_legacy;
+
+ALTER SEQUENCE transactions_id_seq OWNED BY transactions.id;
+DROP TABLE transactions_legacy;
+
+-- Serves both the page-number and the keyset history queries. Built once the rows are in, which is
+-- cheaper than maintaining it row by row during the copy
+CREATE INDEX idx_transactions_wallet_created_id ON transactions (wallet_id, created_at DESC, id DESC);
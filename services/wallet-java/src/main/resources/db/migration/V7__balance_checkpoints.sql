@@ -0,0 +1,9 @@
+CREATE TABLE balance_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    wallet_id BIGINT NOT NULL REFERENCES wallets(id) ON DELETE CASCADE,
+    transaction_id BIGINT, -- last transaction included in balance; NULL when not yet assigned
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    balance DECIMAL(19, 4) NOT NULL
+);
+
+CREATE INDEX idx_balance_checkpoints_wallet_created ON balance_checkpoints (wallet_id, created_at DESC, transaction_id DESC NULLS LAST);
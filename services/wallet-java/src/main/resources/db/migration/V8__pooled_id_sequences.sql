@@ -0,0 +1,6 @@
+-- Hibernate now takes ids from these sequences 50 at a time (pooled-lo optimizer), so inserts no
+-- longer need a round trip each and can be sent as JDBC batches. Inserts that rely on the column
+-- DEFAULT still work; each of them simply uses up a whole block.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE wallets_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
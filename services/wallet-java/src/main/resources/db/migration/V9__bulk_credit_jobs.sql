@@ -0,0 +1,20 @@
+CREATE TABLE bulk_credit_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL, -- RECEIVING, APPLYING, COMPLETED, FAILED
+    total_rows BIGINT NOT NULL DEFAULT 0,
+    staged_rows BIGINT NOT NULL DEFAULT 0,
+    applied_rows BIGINT NOT NULL DEFAULT 0,
+    last_line BIGINT NOT NULL DEFAULT 0, -- highest staged line already credited
+    error VARCHAR(255),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Filled with COPY and consumed in line order; rows are deleted once the job completes
+CREATE TABLE bulk_credit_items (
+    job_id BIGINT NOT NULL REFERENCES bulk_credit_jobs(id) ON DELETE CASCADE,
+    line_no BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    amount DECIMAL(19, 4) NOT NULL,
+    PRIMARY KEY (job_id, line_no)
+);
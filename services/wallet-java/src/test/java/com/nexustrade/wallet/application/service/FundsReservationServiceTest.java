@@ -0,0 +1,228 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.FundsHold;
+import com.nexustrade.wallet.domain.model.HoldStatus;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.LoadHoldPort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveHoldPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FundsReservationServiceTest {
+    private static final Long USER_ID = 1L;
+
+    private final InMemoryWallet store = new InMemoryWallet();
+    private FundsReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        SaveTransactionPort saveTransactionPort = mock(SaveTransactionPort.class);
+        when(saveTransactionPort.saveTransaction(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        LoadWalletPort loadWalletPort = mock(LoadWalletPort.class);
+        when(loadWalletPort.loadWalletByUserId(any(), any())).thenAnswer(invocation -> Optional.of(store.wallet()));
+        UnitOfWorkPort unitOfWork = new UnitOfWorkPort() {
+            @Override
+            public <T> T execute(Supplier<T> work) {
+                return work.get();
+            }
+        };
+        service = new FundsReservationService(loadWalletPort, store, store, store, saveTransactionPort,
+                mock(SaveBalanceCheckpointPort.class), mock(SaveBalanceEventPort.class), unitOfWork);
+    }
+
+    @Test
+    void holdMovesFundsFromAvailableToHeld() {
+        FundsHold hold = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE);
+        assertBalances("60", "40");
+    }
+
+    @Test
+    void holdIsRejectedWithoutEnoughAvailableFunds() {
+        service.hold(USER_ID, new BigDecimal("80"), Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> service.hold(USER_ID, new BigDecimal("30"), Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+        assertBalances("20", "80");
+    }
+
+    @Test
+    void captureConsumesTheHeldFunds() {
+        FundsHold hold = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+
+        service.capture(hold.getId());
+
+        assertBalances("60", "0");
+        assertThat(store.holds.get(hold.getId()).getStatus()).isEqualTo(HoldStatus.CAPTURED);
+    }
+
+    @Test
+    void releaseReturnsTheHeldFunds() {
+        FundsHold hold = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+
+        service.release(hold.getId());
+
+        assertBalances("100", "0");
+        assertThat(store.holds.get(hold.getId()).getStatus()).isEqualTo(HoldStatus.RELEASED);
+    }
+
+    @Test
+    void aHoldIsSettledOnlyOnce() {
+        FundsHold hold = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+        service.release(hold.getId());
+
+        assertThatThrownBy(() -> service.capture(hold.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hold is no longer active");
+        assertThatThrownBy(() -> service.release(hold.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hold is no longer active");
+        assertBalances("100", "0");
+    }
+
+    @Test
+    void anExpiredHoldCannotBeCapturedButCanBeReleased() {
+        FundsHold hold = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+        store.holds.get(hold.getId()).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThatThrownBy(() -> service.capture(hold.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Hold has expired");
+        assertBalances("60", "40");
+
+        service.release(hold.getId());
+        assertBalances("100", "0");
+    }
+
+    @Test
+    void expiryReturnsFundsOfHoldsThatAreStillActive() {
+        FundsHold expired = service.hold(USER_ID, new BigDecimal("40"), Duration.ofMinutes(5));
+        FundsHold captured = service.hold(USER_ID, new BigDecimal("10"), Duration.ofMinutes(5));
+        FundsHold live = service.hold(USER_ID, new BigDecimal("5"), Duration.ofMinutes(5));
+        store.holds.get(expired.getId()).setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        service.capture(captured.getId());
+        // A sweep that loaded the hold before it was captured must not release it again
+        store.staleExpired.add(copy(store.holds.get(captured.getId()), HoldStatus.ACTIVE));
+
+        int count = service.expireHolds(10);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(store.holds.get(expired.getId()).getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(store.holds.get(captured.getId()).getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(store.holds.get(live.getId()).getStatus()).isEqualTo(HoldStatus.ACTIVE);
+        assertBalances("85", "5");
+    }
+
+    private void assertBalances(String available, String held) {
+        assertThat(store.balance).isEqualByComparingTo(available);
+        assertThat(store.held).isEqualByComparingTo(held);
+    }
+
+    private static FundsHold copy(FundsHold hold, HoldStatus status) {
+        return FundsHold.builder()
+                .id(hold.getId())
+                .walletId(hold.getWalletId())
+                .userId(hold.getUserId())
+                .amount(hold.getAmount())
+                .status(status)
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * One wallet and its holds, with the same guards as the SQL behind the ports.
+     */
+    private static final class InMemoryWallet implements SaveWalletPort, LoadHoldPort, SaveHoldPort {
+        private final Map<Long, FundsHold> holds = new HashMap<>();
+        private final List<FundsHold> staleExpired = new ArrayList<>();
+        private BigDecimal balance = new BigDecimal("100");
+        private BigDecimal held = BigDecimal.ZERO;
+        private long nextHoldId = 1;
+
+        Wallet wallet() {
+            return Wallet.builder().id(10L).userId(USER_ID).balance(balance).held(held).currency("USD").build();
+        }
+
+        @Override
+        public Wallet saveWallet(Wallet wallet) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Wallet> applyBalanceDelta(Long userId, BigDecimal delta, BigDecimal heldDelta) {
+            BigDecimal nextBalance = balance.add(delta);
+            BigDecimal nextHeld = held.add(heldDelta);
+            if (nextBalance.signum() < 0 || nextHeld.signum() < 0) {
+                return Optional.empty();
+            }
+            balance = nextBalance;
+            held = nextHeld;
+            return Optional.of(wallet());
+        }
+
+        @Override
+        public Optional<FundsHold> loadHold(Long holdId) {
+            return Optional.ofNullable(holds.get(holdId)).map(hold -> copy(hold, hold.getStatus()));
+        }
+
+        @Override
+        public List<FundsHold> loadExpiredHolds(LocalDateTime now, int limit) {
+            List<FundsHold> expired = new ArrayList<>(staleExpired);
+            holds.values().stream()
+                    .filter(hold -> hold.getStatus() == HoldStatus.ACTIVE && !hold.getExpiresAt().isAfter(now))
+                    .map(hold -> copy(hold, hold.getStatus()))
+                    .forEach(expired::add);
+            return expired.subList(0, Math.min(limit, expired.size()));
+        }
+
+        @Override
+        public FundsHold saveHold(FundsHold hold) {
+            hold.setId(nextHoldId++);
+            holds.put(hold.getId(), copy(hold, hold.getStatus()));
+            return hold;
+        }
+
+        @Override
+        public boolean transitionHold(Long holdId, HoldStatus from, HoldStatus to) {
+            FundsHold hold = holds.get(holdId);
+            if (hold == null || hold.getStatus() != from) {
+                return false;
+            }
+            hold.setStatus(to);
+            return true;
+        }
+
+        @Override
+        public boolean transitionUnexpiredHold(Long holdId, HoldStatus from, HoldStatus to, LocalDateTime now) {
+            FundsHold hold = holds.get(holdId);
+            if (hold == null || !hold.getExpiresAt().isAfter(now)) {
+                return false;
+            }
+            return transitionHold(holdId, from, to);
+        }
+    }
+}
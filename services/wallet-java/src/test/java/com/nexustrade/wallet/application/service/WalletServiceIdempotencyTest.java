@@ -0,0 +1,205 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.IdempotentRequest;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
+import com.nexustrade.wallet.domain.port.output.LoadTransactionPort;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives {@link WalletService} against an in-memory store that locks idempotency keys the way
+ * PostgreSQL does: a second insert of a key waits for the first transaction, then conflicts if
+ * it committed.
+ */
+class WalletServiceIdempotencyTest {
+    private static final Long USER_ID = 1L;
+
+    private final InMemoryStore store = new InMemoryStore();
+    private final SaveWalletPort saveWalletPort = mock(SaveWalletPort.class);
+    private final SaveTransactionPort saveTransactionPort = mock(SaveTransactionPort.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WalletService walletService;
+
+    @BeforeEach
+    void setUp() {
+        when(saveWalletPort.applyBalanceDelta(eq(USER_ID), any())).thenAnswer(invocation -> {
+            store.beforeMutation.get().run();
+            return Optional.of(store.applyDelta(invocation.getArgument(1)));
+        });
+        when(saveTransactionPort.saveTransaction(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        walletService = new WalletService(mock(LoadWalletPort.class), saveWalletPort, saveTransactionPort,
+                mock(LoadTransactionPort.class), store, mock(LoadUserPort.class), store,
+                mock(SaveBalanceCheckpointPort.class), mock(SaveBalanceEventPort.class), meterRegistry);
+    }
+
+    @Test
+    void replaysTheStoredResultForARepeatedKey() {
+        Wallet first = walletService.deposit(USER_ID, BigDecimal.TEN, request("key-1"));
+        Wallet second = walletService.deposit(USER_ID, BigDecimal.TEN, request("key-1"));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(store.balance()).isEqualByComparingTo("110");
+    }
+
+    @Test
+    void concurrentRequestsWithTheSameKeyApplyTheMutationOnce() throws Exception {
+        // Both requests find no stored result before either of them saves one
+        CyclicBarrier bothMutating = new CyclicBarrier(2);
+        store.beforeMutation.set(() -> {
+            try {
+                bothMutating.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        List<CompletableFuture<Wallet>> callers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 2; i++) {
+                callers.add(CompletableFuture.supplyAsync(
+                        () -> walletService.deposit(USER_ID, BigDecimal.TEN, request("key-2")), executor));
+            }
+        }
+        Wallet a = callers.get(0).get(10, TimeUnit.SECONDS);
+        Wallet b = callers.get(1).get(10, TimeUnit.SECONDS);
+
+        assertThat(a).isEqualTo(b);
+        assertThat(a.getBalance()).isEqualByComparingTo("110");
+        assertThat(store.balance()).isEqualByComparingTo("110");
+        assertThat(meterRegistry.counter("wallet.mutation.retries", "reason", "idempotency-conflict").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void aFailedFirstRequestLeavesTheKeyFree() {
+        store.beforeMutation.set(() -> {
+            throw new IllegalStateException("Database unavailable");
+        });
+        assertThatThrownBy(() -> walletService.deposit(USER_ID, BigDecimal.TEN, request("key-3")))
+                .isInstanceOf(IllegalStateException.class);
+        store.beforeMutation.set(() -> { });
+
+        Wallet retried = walletService.deposit(USER_ID, BigDecimal.TEN, request("key-3"));
+
+        assertThat(retried.getBalance()).isEqualByComparingTo("110");
+    }
+
+    private static IdempotentRequest request(String key) {
+        return IdempotentRequest.builder().key(key).fingerprint("deposit:10").build();
+    }
+
+    /**
+     * One wallet and the idempotency keys, with writes buffered per transaction until commit.
+     */
+    private static final class InMemoryStore implements UnitOfWorkPort, IdempotencyPort {
+        private final Map<String, Wallet> keys = new ConcurrentHashMap<>();
+        private final Map<String, CountDownLatch> inserting = new ConcurrentHashMap<>();
+        private final ThreadLocal<Tx> current = new ThreadLocal<>();
+        private final AtomicReference<Runnable> beforeMutation = new AtomicReference<>(() -> { });
+        private BigDecimal balance = new BigDecimal("100");
+
+        @Override
+        public <T> T execute(Supplier<T> work) {
+            Tx tx = new Tx();
+            current.set(tx);
+            try {
+                T result = work.get();
+                commit(tx);
+                return result;
+            } catch (RuntimeException e) {
+                release(tx);
+                throw e;
+            } finally {
+                current.remove();
+            }
+        }
+
+        @Override
+        public Optional<Wallet> loadResult(IdempotentRequest request) {
+            return Optional.ofNullable(keys.get(request.getKey()));
+        }
+
+        @Override
+        public void saveResult(IdempotentRequest request, Wallet wallet) {
+            CountDownLatch mine = new CountDownLatch(1);
+            CountDownLatch other;
+            while ((other = inserting.putIfAbsent(request.getKey(), mine)) != null) {
+                try {
+                    other.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            current.get().keys.put(request.getKey(), wallet);
+            if (keys.containsKey(request.getKey())) {
+                throw new DuplicateKeyException("Idempotency key " + request.getKey() + " is already in use");
+            }
+        }
+
+        synchronized Wallet applyDelta(BigDecimal delta) {
+            Tx tx = current.get();
+            tx.delta = tx.delta.add(delta);
+            return Wallet.builder()
+                    .id(10L)
+                    .userId(USER_ID)
+                    .balance(balance.add(tx.delta))
+                    .held(BigDecimal.ZERO)
+                    .currency("USD")
+                    .build();
+        }
+
+        synchronized BigDecimal balance() {
+            return balance;
+        }
+
+        private void commit(Tx tx) {
+            synchronized (this) {
+                balance = balance.add(tx.delta);
+            }
+            keys.putAll(tx.keys);
+            release(tx);
+        }
+
+        private void release(Tx tx) {
+            tx.keys.keySet().forEach(key -> inserting.remove(key).countDown());
+        }
+    }
+
+    private static final class Tx {
+        private final Map<String, Wallet> keys = new ConcurrentHashMap<>();
+        private BigDecimal delta = BigDecimal.ZERO;
+    }
+}
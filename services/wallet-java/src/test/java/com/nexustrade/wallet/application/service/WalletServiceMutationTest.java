@@ -0,0 +1,182 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.ReadConsistency;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
+import com.nexustrade.wallet.domain.port.output.LoadTransactionPort;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.TransactionalUnitOfWorkAdapter;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.WalletPersistenceAdapter;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.repository.WalletRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs deposits and withdrawals through the conditional balance UPDATE against an embedded
+ * PostgreSQL, so the row lock and the overdraft guard are the database's own.
+ */
+class WalletServiceMutationTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LoadWalletPort loadWalletPort = mock(LoadWalletPort.class);
+    private final SaveTransactionPort saveTransactionPort = mock(SaveTransactionPort.class);
+    private WalletService walletService;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(saveTransactionPort.saveTransaction(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        walletService = new WalletService(loadWalletPort,
+                new WalletPersistenceAdapter(mock(WalletRepository.class), jdbcTemplate, meterRegistry),
+                saveTransactionPort, mock(LoadTransactionPort.class),
+                new TransactionalUnitOfWorkAdapter(transactionTemplate), mock(LoadUserPort.class),
+                mock(IdempotencyPort.class), mock(SaveBalanceCheckpointPort.class), mock(SaveBalanceEventPort.class),
+                meterRegistry);
+    }
+
+    @Test
+    void concurrentWithdrawalsNeverOverdrawTheWallet() throws Exception {
+        Long userId = user("100.00");
+        when(loadWalletPort.loadWalletByUserId(eq(userId), eq(ReadConsistency.FRESH)))
+                .thenAnswer(invocation -> Optional.of(Wallet.builder().userId(userId).build()));
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<CompletableFuture<Wallet>> withdrawals = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 20; i++) {
+                withdrawals.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return walletService.withdraw(userId, BigDecimal.TEN);
+                }, executor));
+            }
+            start.countDown();
+        }
+
+        long succeeded = withdrawals.stream().filter(withdrawal -> !withdrawal.isCompletedExceptionally()).count();
+        assertThat(succeeded).isEqualTo(10);
+        assertThat(withdrawals).filteredOn(CompletableFuture::isCompletedExceptionally)
+                .allSatisfy(withdrawal -> assertThatThrownBy(withdrawal::join)
+                        .isInstanceOf(CompletionException.class)
+                        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                        .hasRootCauseMessage("Insufficient funds"));
+        assertThat(balance(userId)).isEqualByComparingTo("0");
+        // Every balance seen by a successful withdrawal is distinct, i.e. no update was lost
+        assertThat(withdrawals.stream().filter(withdrawal -> !withdrawal.isCompletedExceptionally())
+                .map(withdrawal -> withdrawal.join().getBalance().stripTrailingZeros()))
+                .doesNotHaveDuplicates();
+        verify(saveTransactionPort, times(10)).saveTransaction(any());
+        assertThat(meterRegistry.timer("wallet.mutation.row-update", "outcome", "rejected").count()).isEqualTo(10);
+    }
+
+    @Test
+    void rejectsAnOverdraftWithoutWritingAnything() {
+        Long userId = user("100.00");
+        when(loadWalletPort.loadWalletByUserId(eq(userId), eq(ReadConsistency.FRESH)))
+                .thenReturn(Optional.of(Wallet.builder().userId(userId).build()));
+
+        assertThatThrownBy(() -> walletService.withdraw(userId, new BigDecimal("100.01")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Insufficient funds");
+
+        assertThat(balance(userId)).isEqualByComparingTo("100.00");
+        verify(saveTransactionPort, never()).saveTransaction(any());
+    }
+
+    @Test
+    void allowsWithdrawingTheWholeBalance() {
+        Long userId = user("100.00");
+
+        Wallet wallet = walletService.withdraw(userId, new BigDecimal("100.00"));
+
+        assertThat(wallet.getBalance()).isEqualByComparingTo("0");
+        assertThat(balance(userId)).isEqualByComparingTo("0");
+        verify(loadWalletPort, never()).loadWalletByUserId(anyLong(), any(ReadConsistency.class));
+    }
+
+    @Test
+    void reportsAMissingWalletAsNotFoundRatherThanInsufficientFunds() {
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password_hash, full_name) VALUES (?, 'x', 'Test') RETURNING id",
+                Long.class, "user-" + UUID.randomUUID() + "@example.com");
+        when(loadWalletPort.loadWalletByUserId(eq(userId), eq(ReadConsistency.FRESH))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> walletService.deposit(userId, BigDecimal.TEN))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Wallet not found for user");
+        // Decided on a fresh read, not on a possibly stale cached wallet
+        verify(loadWalletPort).loadWalletByUserId(userId, ReadConsistency.FRESH);
+    }
+
+    private static Long user(String balance) {
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password_hash, full_name) VALUES (?, 'x', 'Test') RETURNING id",
+                Long.class, "user-" + UUID.randomUUID() + "@example.com");
+        jdbcTemplate.update("INSERT INTO wallets (user_id, balance) VALUES (?, ?)", userId, new BigDecimal(balance));
+        return userId;
+    }
+
+    private static BigDecimal balance(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM wallets WHERE user_id = ?", BigDecimal.class, userId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
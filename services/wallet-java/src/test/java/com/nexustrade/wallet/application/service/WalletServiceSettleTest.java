@@ -0,0 +1,149 @@
+package com.nexustrade.wallet.application.service;
+
+import com.nexustrade.wallet.domain.model.BalanceOperation;
+import com.nexustrade.wallet.domain.model.BalanceOperationResult;
+import com.nexustrade.wallet.domain.model.ReadConsistency;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.model.User;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.domain.port.output.IdempotencyPort;
+import com.nexustrade.wallet.domain.port.output.LoadTransactionPort;
+import com.nexustrade.wallet.domain.port.output.LoadUserPort;
+import com.nexustrade.wallet.domain.port.output.LoadWalletPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceCheckpointPort;
+import com.nexustrade.wallet.domain.port.output.SaveBalanceEventPort;
+import com.nexustrade.wallet.domain.port.output.SaveTransactionPort;
+import com.nexustrade.wallet.domain.port.output.SaveWalletPort;
+import com.nexustrade.wallet.domain.port.output.UnitOfWorkPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WalletServiceSettleTest {
+    private static final Long ANA = 1L;
+    private static final Long BOB = 2L;
+
+    private final StubUnitOfWork unitOfWork = new StubUnitOfWork();
+    private final Map<Long, BigDecimal> balances = new HashMap<>(Map.of(ANA, new BigDecimal("100"), BOB, new BigDecimal("5")));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WalletService walletService;
+
+    @BeforeEach
+    void setUp() {
+        LoadUserPort loadUserPort = mock(LoadUserPort.class);
+        when(loadUserPort.loadUsersByEmails(any())).thenReturn(List.of(
+                User.builder().id(ANA).email("ana@example.com").build(),
+                User.builder().id(BOB).email("bob@example.com").build()));
+        LoadWalletPort loadWalletPort = mock(LoadWalletPort.class);
+        when(loadWalletPort.loadWalletByUserId(anyLong(), any(ReadConsistency.class)))
+                .thenAnswer(invocation -> Optional.of(wallet(invocation.getArgument(0))));
+        SaveWalletPort saveWalletPort = mock(SaveWalletPort.class);
+        when(saveWalletPort.applyBalanceDelta(anyLong(), any())).thenAnswer(invocation -> {
+            Long userId = invocation.getArgument(0);
+            BigDecimal after = balances.get(userId).add(invocation.getArgument(1));
+            if (after.signum() < 0) {
+                return Optional.empty();
+            }
+            balances.put(userId, after);
+            return Optional.of(wallet(userId));
+        });
+        SaveTransactionPort saveTransactionPort = mock(SaveTransactionPort.class);
+        when(saveTransactionPort.saveTransaction(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        walletService = new WalletService(loadWalletPort, saveWalletPort, saveTransactionPort,
+                mock(LoadTransactionPort.class), unitOfWork, loadUserPort, mock(IdempotencyPort.class),
+                mock(SaveBalanceCheckpointPort.class), mock(SaveBalanceEventPort.class), meterRegistry);
+    }
+
+    @Test
+    void settlesABatchInOneUnitOfWorkAndReportsRejectedItemsOnTheirOwn() {
+        List<BalanceOperationResult> results = walletService.settle(List.of(
+                operation("ana@example.com", TransactionType.DEPOSIT, "10"),
+                operation("nobody@example.com", TransactionType.DEPOSIT, "1"),
+                operation("bob@example.com", TransactionType.WITHDRAW, "6"),
+                operation("bob@example.com", null, "1"),
+                operation(null, TransactionType.DEPOSIT, "1"),
+                operation("ana@example.com", TransactionType.HOLD, "1"),
+                operation("ana@example.com", TransactionType.WITHDRAW, "0"),
+                operation("bob@example.com", TransactionType.WITHDRAW, "5")));
+
+        assertThat(results).extracting(BalanceOperationResult::isSuccess)
+                .containsExactly(true, false, false, false, false, false, false, true);
+        assertThat(results).extracting(BalanceOperationResult::getError).containsExactly(
+                null,
+                "User not found",
+                "Insufficient funds",
+                "Unsupported operation type",
+                "User not found",
+                "Unsupported operation type",
+                "Amount must be positive",
+                null);
+        assertThat(results.get(0).getWallet().getBalance()).isEqualByComparingTo("110");
+        assertThat(balances).containsEntry(ANA, new BigDecimal("110")).containsEntry(BOB, new BigDecimal("0"));
+        assertThat(unitOfWork.calls).isEqualTo(1);
+    }
+
+    @Test
+    void settlesEachOperationAloneWhenTheBatchFailsAsAWhole() {
+        // The shared unit of work dies, e.g. on a deadlock; the first retry alone dies as well
+        unitOfWork.failing = call -> call == 1 || call == 2;
+
+        List<BalanceOperationResult> results = walletService.settle(List.of(
+                operation("ana@example.com", TransactionType.DEPOSIT, "10"),
+                operation("ana@example.com", TransactionType.WITHDRAW, "20"),
+                operation("nobody@example.com", TransactionType.DEPOSIT, "1")));
+
+        assertThat(results).extracting(BalanceOperationResult::isSuccess).containsExactly(false, true, false);
+        assertThat(results).extracting(BalanceOperationResult::getError)
+                .containsExactly("Operation could not be applied", null, "User not found");
+        // Only the work of units that completed is kept
+        assertThat(balances).containsEntry(ANA, new BigDecimal("80"));
+        assertThat(unitOfWork.calls).isEqualTo(4);
+        assertThat(meterRegistry.counter("wallet.mutation.retries", "reason", "batch-split").count()).isEqualTo(3);
+    }
+
+    private Wallet wallet(Long userId) {
+        return Wallet.builder().id(userId + 10).userId(userId).balance(balances.get(userId)).currency("USD").build();
+    }
+
+    private static BalanceOperation operation(String email, TransactionType type, String amount) {
+        return BalanceOperation.builder().email(email).type(type).amount(new BigDecimal(amount)).build();
+    }
+
+    /**
+     * Runs the work and then fails the calls picked by {@code failing}, undoing the balance changes
+     * the work made, like a transaction that rolls back.
+     */
+    private final class StubUnitOfWork implements UnitOfWorkPort {
+        private Predicate<Integer> failing = call -> false;
+        private int calls;
+
+        @Override
+        public <T> T execute(Supplier<T> work) {
+            calls++;
+            Map<Long, BigDecimal> before = new HashMap<>(balances);
+            T result = work.get();
+            if (failing.test(calls)) {
+                balances.clear();
+                balances.putAll(before);
+                throw new CannotAcquireLockException("Deadlock detected");
+            }
+            return result;
+        }
+    }
+}
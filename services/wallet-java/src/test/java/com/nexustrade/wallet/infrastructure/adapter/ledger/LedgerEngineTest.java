@@ -0,0 +1,208 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.TransactionPersistenceAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerEngineTest {
+    @TempDir
+    Path directory;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final TransactionPersistenceAdapter transactionPersistenceAdapter = mock(TransactionPersistenceAdapter.class);
+    private LedgerEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<org.springframework.transaction.TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void flushWritesTransactionsBalancesAndTheCheckpoint() throws Exception {
+        start();
+        engine.apply(wallet(4L), new BigDecimal("10.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.apply(wallet(4L), new BigDecimal("5.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.record(deposit(4L)).get(5, TimeUnit.SECONDS);
+
+        engine.flush();
+
+        verify(transactionPersistenceAdapter).saveTransactions(
+                argThat(transactions -> transactions.size() == 1));
+        // Only the latest balance of each wallet is written
+        verify(jdbcTemplate).batchUpdate(anyString(),
+                ArgumentMatchers.<List<Object[]>>argThat(rows -> rows.size() == 1
+                        && new BigDecimal("115.00").compareTo((BigDecimal) rows.get(0)[0]) == 0));
+        verify(jdbcTemplate).update(anyString(), eq(0), eq(3L));
+    }
+
+    @Test
+    void retriesAFailedFlushWithTheSameRecords() throws Exception {
+        start();
+        engine.record(deposit(2L)).get(5, TimeUnit.SECONDS);
+        when(transactionPersistenceAdapter.saveTransactions(anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        engine.flush();
+        verify(jdbcTemplate, never()).update(anyString(), eq(0), any());
+
+        engine.record(deposit(2L)).get(5, TimeUnit.SECONDS);
+        engine.flush();
+
+        verify(transactionPersistenceAdapter, times(2)).saveTransactions(anyList());
+        verify(transactionPersistenceAdapter).saveTransactions(
+                argThat(transactions -> transactions.size() == 2));
+        verify(jdbcTemplate).update(anyString(), eq(0), eq(2L));
+    }
+
+    @Test
+    void replaysFromTheCheckpointAfterARestart() throws Exception {
+        start();
+        engine.apply(wallet(6L), new BigDecimal("1.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.apply(wallet(6L), new BigDecimal("2.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.stop();
+        engine = null;
+
+        // The database already has the first record of shard 0
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("shard")).thenReturn(0);
+            when(rs.getLong("last_seq")).thenReturn(1L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        start();
+
+        assertThat(engine.account(6L)).get().extracting(LedgerAccount::balance)
+                .isEqualTo(new BigDecimal("103.00"));
+    }
+
+    @Test
+    void refusesToStartWithFewerShardsWhileJournalsHoldUnflushedRecords() throws Exception {
+        start(4);
+        engine.apply(wallet(7L), BigDecimal.ONE, BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.stop();
+        engine = null;
+
+        assertThatThrownBy(() -> engine(2).start())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shard 3");
+    }
+
+    @Test
+    void refusesToStartWithMoreShardsWhileJournalsHoldUnflushedRecords() throws Exception {
+        start(2);
+        engine.apply(wallet(3L), BigDecimal.ONE, BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.stop();
+        engine = null;
+
+        // Wallet 3 was journaled by shard 1 but 4 shards route it to shard 3
+        assertThatThrownBy(() -> engine(4).start())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shard 1");
+    }
+
+    @Test
+    void startsWithAnotherShardCountOnceTheJournalsAreFlushed() throws Exception {
+        start(2);
+        engine.apply(wallet(3L), BigDecimal.ONE, BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        engine.stop();
+        engine = null;
+
+        doAnswer(invocation -> {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getInt("shard")).thenReturn(1);
+            when(rs.getLong("last_seq")).thenReturn(1L);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+        start(4);
+
+        assertThat(engine.account(3L)).isEmpty();
+    }
+
+    private void start() throws IOException {
+        start(2);
+    }
+
+    private void start(int shards) throws IOException {
+        LedgerEngine started = engine(shards);
+        started.start();
+        engine = started;
+    }
+
+    private LedgerEngine engine(int shards) {
+        LedgerEngine created = new LedgerEngine(jdbcTemplate, transactionTemplate, transactionPersistenceAdapter);
+        ReflectionTestUtils.setField(created, "shardCount", shards);
+        ReflectionTestUtils.setField(created, "journalDir", directory.toString());
+        ReflectionTestUtils.setField(created, "flushIntervalMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(created, "segmentSize", DataSize.ofMegabytes(1));
+        return created;
+    }
+
+    private static Wallet wallet(Long id) {
+        return Wallet.builder()
+                .id(id)
+                .userId(id + 100)
+                .balance(new BigDecimal("100.00"))
+                .held(BigDecimal.ZERO)
+                .currency("USD")
+                .build();
+    }
+
+    private static Transaction deposit(Long walletId) {
+        return Transaction.builder()
+                .walletId(walletId)
+                .amount(BigDecimal.TEN)
+                .type(TransactionType.DEPOSIT)
+                .status(TransactionStatus.COMPLETED)
+                .build();
+    }
+}
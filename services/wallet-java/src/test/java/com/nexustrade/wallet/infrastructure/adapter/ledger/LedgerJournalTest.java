@@ -0,0 +1,127 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerJournalTest {
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAppendedRecordsAfterReopening() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, SEGMENT_BYTES)) {
+            journal.replay();
+            journal.append(mutation(1, "100.00"));
+            journal.append(mutation(2, "75.50"));
+            journal.sync();
+        }
+
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, SEGMENT_BYTES)) {
+            List<LedgerRecord> records = journal.replay();
+
+            assertThat(records).extracting(LedgerRecord::seq).containsExactly(1L, 2L);
+            assertThat(records.get(1).balanceAfter()).isEqualByComparingTo("75.50");
+        }
+    }
+
+    @Test
+    void cutsOffATornTail() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, SEGMENT_BYTES)) {
+            journal.replay();
+            journal.append(mutation(1, "100.00"));
+            journal.sync();
+        }
+        Path segment = directory.resolve("shard-0-0.wal");
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, SEGMENT_BYTES)) {
+            assertThat(journal.replay()).extracting(LedgerRecord::seq).containsExactly(1L);
+            assertThat(journal.size()).isEqualTo(intact);
+
+            journal.append(mutation(2, "90.00"));
+            journal.sync();
+        }
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, SEGMENT_BYTES)) {
+            assertThat(journal.replay()).extracting(LedgerRecord::seq).containsExactly(1L, 2L);
+        }
+    }
+
+    @Test
+    void adoptsAnUnsegmentedJournalAsTheFirstSegment() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(directory, 3, SEGMENT_BYTES)) {
+            journal.replay();
+            journal.append(mutation(1, "10.00"));
+            journal.sync();
+        }
+        Files.move(directory.resolve("shard-3-0.wal"), directory.resolve("shard-3.wal"));
+
+        try (LedgerJournal journal = new LedgerJournal(directory, 3, SEGMENT_BYTES)) {
+            assertThat(journal.replay()).extracting(LedgerRecord::seq).containsExactly(1L);
+        }
+        assertThat(directory.resolve("shard-3.wal")).doesNotExist();
+        assertThat(directory.resolve("shard-3-0.wal")).exists();
+    }
+
+    @Test
+    void rotatesFullSegmentsAndReleasesOnlyFlushedOnes() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, 1)) {
+            journal.replay();
+            for (long seq = 1; seq <= 3; seq++) {
+                journal.rotateIfFull();
+                journal.append(mutation(seq, "1.00"));
+                journal.sync();
+            }
+            journal.rotateIfFull();
+            assertThat(segments()).containsExactly("shard-0-0.wal", "shard-0-1.wal", "shard-0-2.wal", "shard-0-3.wal");
+
+            journal.release(2);
+
+            assertThat(segments()).containsExactly("shard-0-2.wal", "shard-0-3.wal");
+        }
+
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, 1)) {
+            assertThat(journal.replay()).extracting(LedgerRecord::seq).containsExactly(3L);
+        }
+    }
+
+    @Test
+    void resetDropsEverything() throws IOException {
+        try (LedgerJournal journal = new LedgerJournal(directory, 0, 1)) {
+            journal.replay();
+            journal.append(mutation(1, "1.00"));
+            journal.rotateIfFull();
+            journal.append(mutation(2, "2.00"));
+
+            journal.reset();
+
+            assertThat(journal.size()).isZero();
+            assertThat(segments()).containsExactly("shard-0-1.wal");
+        }
+    }
+
+    private List<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static LedgerRecord mutation(long seq, String balance) {
+        LedgerAccount account = new LedgerAccount(7L, 11L, new BigDecimal(balance), BigDecimal.ZERO, "USD",
+                LocalDateTime.of(2026, 1, 1, 12, 0));
+        return LedgerRecord.mutation(seq, account, BigDecimal.ONE);
+    }
+}
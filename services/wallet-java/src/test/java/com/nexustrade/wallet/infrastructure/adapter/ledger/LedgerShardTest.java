@@ -0,0 +1,149 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.TransactionStatus;
+import com.nexustrade.wallet.domain.model.TransactionType;
+import com.nexustrade.wallet.domain.model.Wallet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LedgerShardTest {
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private LedgerJournal journal;
+    private LedgerShard shard;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (shard != null) {
+            shard.stop();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void appliesDeltasAndRejectsOverdrafts() throws Exception {
+        start(0);
+
+        Optional<LedgerAccount> credited = shard.apply(wallet("100.00"), new BigDecimal("50.00"), BigDecimal.ZERO)
+                .get(5, TimeUnit.SECONDS);
+        Optional<LedgerAccount> overdrawn = shard.apply(wallet("100.00"), new BigDecimal("-500.00"), BigDecimal.ZERO)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(credited).get().extracting(LedgerAccount::balance).isEqualTo(new BigDecimal("150.00"));
+        assertThat(overdrawn).isEmpty();
+        assertThat(shard.account(1L)).get().extracting(LedgerAccount::balance).isEqualTo(new BigDecimal("150.00"));
+    }
+
+    @Test
+    void compensationBypassesTheOverdraftGuard() throws Exception {
+        start(0);
+
+        shard.apply(wallet("10.00"), new BigDecimal("-10.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        Optional<LedgerAccount> compensated = shard.compensate(wallet("10.00"), new BigDecimal("-5.00"), BigDecimal.ZERO)
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(compensated).get().extracting(LedgerAccount::balance).isEqualTo(new BigDecimal("-5.00"));
+    }
+
+    @Test
+    void replaysUnflushedRecordsAfterARestart() throws Exception {
+        start(0);
+        shard.apply(wallet("100.00"), new BigDecimal("25.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        shard.record(deposit("25.00")).get(5, TimeUnit.SECONDS);
+        restart(0);
+
+        List<LedgerRecord> pending = new ArrayList<>();
+        shard.drainUnflushed(pending);
+
+        assertThat(pending).extracting(LedgerRecord::kind)
+                .containsExactly(LedgerRecord.Kind.MUTATION, LedgerRecord.Kind.TRANSACTION);
+        assertThat(shard.account(1L)).get().extracting(LedgerAccount::balance).isEqualTo(new BigDecimal("125.00"));
+
+        // New records continue the sequence instead of reusing replayed numbers
+        shard.apply(wallet("100.00"), new BigDecimal("1.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        List<LedgerRecord> next = new ArrayList<>();
+        shard.drainUnflushed(next);
+        assertThat(next).extracting(LedgerRecord::seq).containsExactly(3L);
+    }
+
+    @Test
+    void skipsRecordsAtOrBelowTheFlushCheckpoint() throws Exception {
+        start(0);
+        shard.apply(wallet("100.00"), new BigDecimal("25.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        shard.apply(wallet("100.00"), new BigDecimal("5.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        restart(1);
+
+        List<LedgerRecord> pending = new ArrayList<>();
+        shard.drainUnflushed(pending);
+
+        assertThat(pending).extracting(LedgerRecord::seq).containsExactly(2L);
+        assertThat(shard.account(1L)).get().extracting(LedgerAccount::balance).isEqualTo(new BigDecimal("130.00"));
+    }
+
+    @Test
+    void compactsTheJournalOnceEverythingIsFlushed() throws Exception {
+        start(0);
+        shard.apply(wallet("100.00"), new BigDecimal("25.00"), BigDecimal.ZERO).get(5, TimeUnit.SECONDS);
+        List<LedgerRecord> pending = new ArrayList<>();
+        shard.drainUnflushed(pending);
+        assertThat(journal.size()).isPositive();
+
+        shard.markFlushed(pending.get(pending.size() - 1).seq());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(journal.size()).isZero();
+    }
+
+    private void start(long checkpointSeq) throws IOException {
+        journal = new LedgerJournal(directory, 0, SEGMENT_BYTES);
+        shard = new LedgerShard(0, journal);
+        shard.restore(journal.replay(), checkpointSeq);
+        shard.start();
+    }
+
+    private void restart(long checkpointSeq) throws Exception {
+        shard.stop();
+        journal.close();
+        shard = null;
+        start(checkpointSeq);
+    }
+
+    private static Wallet wallet(String balance) {
+        return Wallet.builder()
+                .id(1L)
+                .userId(2L)
+                .balance(new BigDecimal(balance))
+                .held(BigDecimal.ZERO)
+                .currency("USD")
+                .build();
+    }
+
+    private static Transaction deposit(String amount) {
+        return Transaction.builder()
+                .walletId(1L)
+                .amount(new BigDecimal(amount))
+                .type(TransactionType.DEPOSIT)
+                .status(TransactionStatus.COMPLETED)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.nexustrade.wallet.infrastructure.adapter.ledger;
+
+import com.nexustrade.wallet.domain.model.Transaction;
+import com.nexustrade.wallet.domain.model.Wallet;
+import com.nexustrade.wallet.infrastructure.adapter.persistence.WalletPersistenceAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LedgerWalletAdapterTest {
+    private static final Long USER_ID = 2L;
+
+    private final LedgerEngine ledgerEngine = mock(LedgerEngine.class);
+    private final WalletPersistenceAdapter walletPersistenceAdapter = mock(WalletPersistenceAdapter.class);
+    private final LedgerWalletAdapter adapter = new LedgerWalletAdapter(ledgerEngine, walletPersistenceAdapter);
+    private final Wallet stored = Wallet.builder()
+            .id(1L)
+            .userId(USER_ID)
+            .balance(new BigDecimal("100.00"))
+            .held(BigDecimal.ZERO)
+            .currency("USD")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(walletPersistenceAdapter.loadWalletByUserId(USER_ID)).thenReturn(Optional.of(stored));
+        when(ledgerEngine.account(1L)).thenReturn(Optional.empty());
+        when(ledgerEngine.apply(any(), any(), any())).thenAnswer(invocation -> {
+            Wallet seed = invocation.getArgument(0);
+            BigDecimal delta = invocation.getArgument(1);
+            return CompletableFuture.completedFuture(Optional.of(LedgerAccount.from(seed)
+                    .withBalance(seed.getBalance().add(delta), seed.getHeld(), null)));
+        });
+        when(ledgerEngine.compensate(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(ledgerEngine.record(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void undoesTheBalanceChangeWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        Optional<Wallet> applied = adapter.applyBalanceDelta(USER_ID, new BigDecimal("-30.00"), BigDecimal.ZERO);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(applied).get().extracting(Wallet::getBalance).isEqualTo(new BigDecimal("70.00"));
+        verify(ledgerEngine).compensate(any(), eq(new BigDecimal("30.00")), eq(BigDecimal.ZERO));
+    }
+
+    @Test
+    void keepsTheBalanceChangeWhenTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        adapter.applyBalanceDelta(USER_ID, new BigDecimal("-30.00"), BigDecimal.ZERO);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(ledgerEngine, never()).compensate(any(), any(), any());
+    }
+
+    @Test
+    void leavesTheBalanceChangeAloneWhenTheOutcomeIsUnknown() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        adapter.applyBalanceDelta(USER_ID, BigDecimal.TEN, BigDecimal.ZERO);
+        complete(TransactionSynchronization.STATUS_UNKNOWN);
+
+        verify(ledgerEngine, never()).compensate(any(), any(), any());
+    }
+
+    @Test
+    void journalsTheTransactionRowOnlyBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        Transaction transaction = Transaction.builder().walletId(1L).amount(BigDecimal.TEN).build();
+
+        adapter.saveTransaction(transaction);
+        verify(ledgerEngine, never()).record(any());
+        assertThat(transaction.getCreatedAt()).isNotNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        verify(ledgerEngine).record(transaction);
+    }
+
+    @Test
+    void journalsImmediatelyOutsideATransaction() {
+        Transaction transaction = Transaction.builder().walletId(1L).amount(BigDecimal.TEN).build();
+
+        adapter.saveTransaction(transaction);
+
+        verify(ledgerEngine).record(transaction);
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
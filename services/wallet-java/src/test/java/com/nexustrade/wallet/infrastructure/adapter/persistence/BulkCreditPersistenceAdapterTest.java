@@ -0,0 +1,208 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nexustrade.wallet.domain.model.BulkCreditFormat;
+import com.nexustrade.wallet.domain.model.BulkCreditJob;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the chunk statements against an embedded PostgreSQL with the real migrations applied.
+ */
+class BulkCreditPersistenceAdapterTest {
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void startDatabase() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure()
+                .dataSource(dataSource)
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void stagesParsableLinesAndCountsTheRest() {
+        String ana = user("100.00");
+        BulkCreditPersistenceAdapter adapter = adapter();
+
+        BulkCreditJob job = adapter.stage(adapter.createJob().getId(), csv(
+                "email,amount",
+                ana + ",10",
+                "not-a-line",
+                ana + ",-5",
+                "",
+                "\"" + ana + "\",\"2.50\""), BulkCreditFormat.CSV);
+
+        assertThat(job.getTotalRows()).isEqualTo(4);
+        assertThat(job.getStagedRows()).isEqualTo(2);
+    }
+
+    @Test
+    void treatsAFirstLineStartingWithEmailAsDataUnlessItIsTheHeader() {
+        String email = "email-" + UUID.randomUUID() + "@example.com";
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password_hash, full_name) VALUES (?, 'x', 'Test') RETURNING id",
+                Long.class, email);
+        jdbcTemplate.update("INSERT INTO wallets (user_id, balance) VALUES (?, 0)", userId);
+        BulkCreditPersistenceAdapter adapter = adapter();
+
+        Long jobId = adapter.createJob().getId();
+        BulkCreditJob job = adapter.stage(jobId, csv(email + ",10"), BulkCreditFormat.CSV);
+        assertThat(adapter.applyNextChunk(jobId, 10)).isTrue();
+
+        assertThat(job.getTotalRows()).isEqualTo(1);
+        assertThat(job.getStagedRows()).isEqualTo(1);
+        assertThat(balance(email)).isEqualByComparingTo("10");
+        assertThat(adapter.stage(adapter.createJob().getId(), csv("\"EMAIL\" , amount", email + ",1"),
+                BulkCreditFormat.CSV).getTotalRows()).isEqualTo(1);
+    }
+
+    @Test
+    void resumesAfterTheLastCommittedChunkWithoutCreditingTwice() {
+        String ana = user("100.00");
+        String bob = user("0.00");
+        BulkCreditPersistenceAdapter first = adapter();
+        Long jobId = first.createJob().getId();
+        first.stage(jobId, csv(
+                ana + ",10",
+                bob + ",5",
+                "nobody-" + UUID.randomUUID() + "@example.com,7",
+                ana + ",1.5",
+                bob + ",2"), BulkCreditFormat.CSV);
+
+        assertThat(first.applyNextChunk(jobId, 2)).isTrue();
+        assertThat(balance(ana)).isEqualByComparingTo("110.00");
+
+        // A restarted instance picks the job up from the committed progress
+        BulkCreditPersistenceAdapter restarted = adapter();
+        int chunks = 0;
+        while (restarted.applyNextChunk(jobId, 2)) {
+            chunks++;
+        }
+        restarted.complete(jobId);
+
+        assertThat(chunks).isEqualTo(2);
+        assertThat(balance(ana)).isEqualByComparingTo("111.50");
+        assertThat(balance(bob)).isEqualByComparingTo("7.00");
+        assertThat(transactions(ana)).isEqualTo(2);
+        assertThat(transactions(bob)).isEqualTo(2);
+        assertThat(restarted.loadJob(jobId)).get()
+                .satisfies(job -> assertThat(job.getAppliedRows()).isEqualTo(4));
+        assertThat(restarted.applyNextChunk(jobId, 2)).isFalse();
+    }
+
+    @Test
+    void concurrentResumesOfOneJobCreditEachLineOnce() throws Exception {
+        String ana = user("0.00");
+        BulkCreditPersistenceAdapter adapter = adapter();
+        Long jobId = adapter.createJob().getId();
+        String[] lines = new String[40];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = ana + ",1";
+        }
+        adapter.stage(jobId, csv(lines), BulkCreditFormat.CSV);
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            for (int i = 0; i < 3; i++) {
+                BulkCreditPersistenceAdapter instance = adapter();
+                workers.add(CompletableFuture.runAsync(() -> {
+                    while (instance.applyNextChunk(jobId, 3)) {
+                        // Keep going until another worker or this one has applied everything
+                    }
+                }, executor));
+            }
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        assertThat(balance(ana)).isEqualByComparingTo("40");
+        assertThat(transactions(ana)).isEqualTo(40);
+    }
+
+    @Test
+    void aFailedChunkLeavesNoPartialCredit() {
+        String ana = user("0.00");
+        String bob = user("999999999999999.0000");
+        BulkCreditPersistenceAdapter adapter = adapter();
+        Long jobId = adapter.createJob().getId();
+        adapter.stage(jobId, csv(ana + ",3", bob + ",1"), BulkCreditFormat.CSV);
+
+        // Bob's balance would overflow, so the whole chunk rolls back
+        assertThatThrownBy(() -> adapter.applyNextChunk(jobId, 10)).isInstanceOf(RuntimeException.class);
+        assertThat(balance(ana)).isEqualByComparingTo("0");
+        assertThat(transactions(ana)).isZero();
+
+        jdbcTemplate.update("UPDATE wallets SET balance = 0 WHERE user_id = (SELECT id FROM users WHERE email = ?)", bob);
+        assertThat(adapter.applyNextChunk(jobId, 10)).isTrue();
+
+        assertThat(balance(ana)).isEqualByComparingTo("3");
+        assertThat(balance(bob)).isEqualByComparingTo("1");
+        assertThat(adapter.loadJob(jobId)).get()
+                .satisfies(job -> assertThat(job.getAppliedRows()).isEqualTo(2));
+    }
+
+    private static BulkCreditPersistenceAdapter adapter() {
+        return new BulkCreditPersistenceAdapter(jdbcTemplate, transactionTemplate, new ObjectMapper());
+    }
+
+    private static String user(String balance) {
+        String email = "user-" + UUID.randomUUID() + "@example.com";
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (email, password_hash, full_name) VALUES (?, 'x', 'Test') RETURNING id",
+                Long.class, email);
+        jdbcTemplate.update("INSERT INTO wallets (user_id, balance) VALUES (?, ?)", userId, new BigDecimal(balance));
+        return email;
+    }
+
+    private static BigDecimal balance(String email) {
+        return jdbcTemplate.queryForObject(
+                "SELECT w.balance FROM wallets w JOIN users u ON u.id = w.user_id WHERE u.email = ?",
+                BigDecimal.class, email);
+    }
+
+    private static int transactions(String email) {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM transactions t
+                  JOIN wallets w ON w.id = t.wallet_id
+                  JOIN users u ON u.id = w.user_id
+                 WHERE u.email = ?
+                """, Integer.class, email);
+    }
+
+    private static ByteArrayInputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
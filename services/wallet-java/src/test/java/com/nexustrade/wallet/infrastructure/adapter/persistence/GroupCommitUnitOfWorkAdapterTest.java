@@ -0,0 +1,224 @@
+package com.nexustrade.wallet.infrastructure.adapter.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GroupCommitUnitOfWorkAdapterTest {
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private GroupCommitUnitOfWorkAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Savepoints remember how many writes the open transaction had when they were taken
+        Connection connection = mock(Connection.class);
+        when(connection.setSavepoint()).thenAnswer(invocation -> {
+            Savepoint savepoint = mock(Savepoint.class);
+            transactionManager.savepoints.put(savepoint, transactionManager.pending.size());
+            return savepoint;
+        });
+        doAnswer(invocation -> {
+            int size = transactionManager.savepoints.get(invocation.<Savepoint>getArgument(0));
+            transactionManager.pending.subList(size, transactionManager.pending.size()).clear();
+            return null;
+        }).when(connection).rollback(any(Savepoint.class));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+
+        adapter = new GroupCommitUnitOfWorkAdapter(new TransactionTemplate(transactionManager), jdbcTemplate,
+                mock(EntityManager.class), meterRegistry);
+        ReflectionTestUtils.setField(adapter, "windowMs", 300L);
+        ReflectionTestUtils.setField(adapter, "maxBatch", 3);
+        ReflectionTestUtils.setField(adapter, "queueCapacity", 100);
+        ReflectionTestUtils.setField(adapter, "timeoutMs", 5000L);
+        adapter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        transactionManager.commitGate.countDown();
+        adapter.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acknowledgesOnlyAfterTheTransactionCommits() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        transactionManager.commitGate = gate;
+
+        CompletableFuture<String> caller = CompletableFuture.supplyAsync(() -> adapter.execute(() -> write("a")), executor);
+
+        assertThat(transactionManager.commitStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(caller).isNotDone();
+
+        gate.countDown();
+        assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(transactionManager.committed).containsExactly("a");
+    }
+
+    @Test
+    void sharesOneTransactionAcrossABatch() throws Exception {
+        List<CompletableFuture<String>> callers = submit("a", "b", "c");
+
+        for (CompletableFuture<String> caller : callers) {
+            caller.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(transactionManager.commits).isEqualTo(1);
+        assertThat(transactionManager.committed).containsExactlyInAnyOrder("a", "b", "c");
+    }
+
+    @Test
+    void undoesOnlyARejectedItemAndCommitsTheRestOfTheBatch() throws Exception {
+        List<CompletableFuture<String>> callers = submit("a", "reject", "c");
+
+        assertThat(callers.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(callers.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("c");
+        assertThatThrownBy(() -> callers.get(1).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+
+        // The write made by the rejected item is rolled back to its savepoint, the batch still commits once
+        assertThat(transactionManager.committed).containsExactlyInAnyOrder("a", "c");
+        assertThat(transactionManager.commits).isEqualTo(1);
+        assertThat(transactionManager.rollbacks).isZero();
+        assertThat(meterRegistry.counter("wallet.mutation.retries", "reason", "group-commit-split").count()).isZero();
+    }
+
+    @Test
+    void rollsBackTheBatchAndRetriesEachItemAloneWhenOneFailsUnexpectedly() throws Exception {
+        List<CompletableFuture<String>> callers = submit("a", "fail", "c");
+
+        assertThat(callers.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThat(callers.get(2).get(5, TimeUnit.SECONDS)).isEqualTo("c");
+        assertThatThrownBy(() -> callers.get(1).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+
+        // The write made by the failing item is never committed, and the others are committed once
+        assertThat(transactionManager.committed).containsExactlyInAnyOrder("a", "c");
+        assertThat(transactionManager.rollbacks).isEqualTo(2);
+        assertThat(meterRegistry.counter("wallet.mutation.retries", "reason", "group-commit-split").count())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void survivesAnErrorThrownByAnItem() throws Exception {
+        List<CompletableFuture<String>> callers = submit("a", "error");
+
+        assertThat(callers.get(0).get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        assertThatThrownBy(() -> callers.get(1).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AssertionError.class);
+        // The committer is still there for later callers
+        assertThat(adapter.execute(() -> write("b"))).isEqualTo("b");
+    }
+
+    @Test
+    void givesUpWaitingAfterTheTimeout() throws Exception {
+        ReflectionTestUtils.setField(adapter, "timeoutMs", 200L);
+        transactionManager.commitGate = new CountDownLatch(1);
+
+        assertThatThrownBy(() -> adapter.execute(() -> write("a")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("outcome is unknown");
+    }
+
+    private List<CompletableFuture<String>> submit(String... values) throws InterruptedException {
+        List<CompletableFuture<String>> submitted = new ArrayList<>();
+        for (String value : values) {
+            submitted.add(CompletableFuture.supplyAsync(() -> adapter.execute(() -> write(value)), executor));
+            // Keep submission order so the batch holds the items in that order
+            Thread.sleep(20);
+        }
+        return submitted;
+    }
+
+    private String write(String value) {
+        transactionManager.pending.add(value);
+        switch (value) {
+            case "reject" -> throw new IllegalArgumentException("Insufficient funds");
+            case "fail" -> throw new DataAccessResourceFailureException("Connection reset");
+            case "error" -> throw new AssertionError("Broken invariant");
+            default -> {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Keeps the writes of the open transaction aside and only publishes them on commit.
+     */
+    private static final class RecordingTransactionManager implements PlatformTransactionManager {
+        private final List<String> pending = new ArrayList<>();
+        private final List<String> committed = new ArrayList<>();
+        private final Map<Savepoint, Integer> savepoints = new ConcurrentHashMap<>();
+        private final CountDownLatch commitStarted = new CountDownLatch(1);
+        private volatile CountDownLatch commitGate = new CountDownLatch(0);
+        private volatile int commits;
+        private volatile int rollbacks;
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            pending.clear();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commitStarted.countDown();
+            try {
+                commitGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (committed) {
+                committed.addAll(pending);
+            }
+            pending.clear();
+            commits++;
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            pending.clear();
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.nexustrade.wallet.infrastructure.adapter.web;
+
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.WalletDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalletStreamHubTest {
+    private static final int BUFFER_SIZE = 4;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch unstall = new CountDownLatch(1);
+    private WalletStreamHub hub;
+
+    @AfterEach
+    void tearDown() {
+        unstall.countDown();
+        hub.stop();
+    }
+
+    @Test
+    void capsStreamsPerUserAndPerInstance() {
+        hub = hub(3, 2);
+        hub.subscribe(1L, wallet("10"));
+        hub.subscribe(1L, wallet("10"));
+
+        assertThatThrownBy(() -> hub.subscribe(1L, wallet("10")))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("for this user");
+        hub.subscribe(2L, wallet("10"));
+        assertThatThrownBy(() -> hub.subscribe(3L, wallet("10")))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessage("Too many open wallet streams");
+        assertThat(connections()).isEqualTo(3);
+    }
+
+    @Test
+    void sendsTheSnapshotFirstAndSkipsSupersededUpdates() throws Exception {
+        hub = hub(10, 10);
+        Client client = new Client();
+        client.attach(hub.subscribe(1L, wallet("10")));
+
+        hub.dispatch(1L, 5, wallet("15"));
+        hub.dispatch(1L, 4, wallet("14"));
+        hub.dispatch(1L, 6, wallet("16"));
+
+        client.awaitEvents(3);
+        assertThat(client.events.get(0)).doesNotContain("id:");
+        assertThat(client.events.subList(1, 3)).satisfiesExactly(
+                event -> assertThat(event).contains("id:5"),
+                event -> assertThat(event).contains("id:6"));
+    }
+
+    @Test
+    @Timeout(10)
+    void dropsAClientThatFallsBehindWithoutHoldingUpOthers() throws Exception {
+        hub = hub(10, 1);
+        Client slow = new Client();
+        Client fast = new Client();
+        slow.attach(hub.subscribe(1L, wallet("10")));
+        fast.attach(hub.subscribe(2L, wallet("20")));
+        slow.awaitEvents(1);
+        slow.stall = true;
+
+        // The first update blocks in the write, the next ones fill the buffer, and one more overflows it
+        hub.dispatch(1L, 1, wallet("11"));
+        assertThat(slow.stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= BUFFER_SIZE + 2; id++) {
+            hub.dispatch(1L, id, wallet("1" + id));
+            hub.dispatch(2L, id, wallet("2" + id));
+            // A client that keeps up receives each update before the next one is sent
+            fast.awaitEvents((int) id);
+        }
+
+        assertThat(meterRegistry.counter("wallet.stream.dropped").count()).isEqualTo(1);
+        assertThat(connections()).isEqualTo(1);
+        // The dropped stream's slot is free again for the reconnect
+        assertThatCode(() -> hub.subscribe(1L, wallet("10"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    @Timeout(10)
+    void completesADroppedStreamOnceItsStuckWriteReturns() throws Exception {
+        hub = hub(10, 10);
+        Client slow = new Client();
+        slow.attach(hub.subscribe(1L, wallet("10")));
+        slow.awaitEvents(1);
+        slow.stall = true;
+        hub.dispatch(1L, 1, wallet("11"));
+        assertThat(slow.stalled.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= BUFFER_SIZE + 2; id++) {
+            hub.dispatch(1L, id, wallet("1" + id));
+        }
+        assertThat(meterRegistry.counter("wallet.stream.dropped").count()).isEqualTo(1);
+        assertThat(slow.completed.getCount()).isEqualTo(1);
+
+        unstall.countDown();
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        // The snapshot and the write that was in progress went out, the queued updates were discarded
+        assertThat(slow.events).hasSize(2);
+    }
+
+    private WalletStreamHub hub(int maxConnections, int maxPerUser) {
+        return new WalletStreamHub(meterRegistry, BUFFER_SIZE, maxConnections, maxPerUser,
+                Duration.ofMinutes(1), Duration.ofSeconds(1), 4);
+    }
+
+    private double connections() {
+        return meterRegistry.get("wallet.stream.connections").gauge().value();
+    }
+
+    private static WalletDto.WalletDetail wallet(String balance) {
+        return WalletDto.WalletDetail.builder()
+                .id(1L)
+                .balance(new BigDecimal(balance))
+                .held(BigDecimal.ZERO)
+                .currency("USD")
+                .build();
+    }
+
+    /**
+     * Stands in for the servlet response an emitter is normally bound to, recording what is
+     * written and optionally blocking in the write like a client that stopped reading.
+     */
+    private final class Client {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile boolean stall;
+
+        void attach(SseEmitter emitter) throws Exception {
+            Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+            Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(), new Class<?>[]{handlerType},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("send")) {
+                            write(args);
+                        } else if (method.getName().equals("complete")) {
+                            completed.countDown();
+                        }
+                        return null;
+                    });
+            Method initialize = ResponseBodyEmitter.class.getDeclaredMethod("initialize", handlerType);
+            initialize.setAccessible(true);
+            initialize.invoke(emitter, handler);
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(events).hasSize(count);
+        }
+
+        private void write(Object[] args) throws InterruptedException {
+            if (stall) {
+                stalled.countDown();
+                unstall.await();
+            }
+            if (args[0] instanceof Set<?> items) {
+                events.add(items.stream()
+                        .map(item -> String.valueOf(((ResponseBodyEmitter.DataWithMediaType) item).getData()))
+                        .collect(Collectors.joining()));
+            } else {
+                events.add(String.valueOf(args[0]));
+            }
+        }
+    }
+}
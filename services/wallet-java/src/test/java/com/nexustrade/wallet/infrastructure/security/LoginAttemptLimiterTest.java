@@ -0,0 +1,73 @@
+package com.nexustrade.wallet.infrastructure.security;
+
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginAttemptLimiterTest {
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitsAttemptsPerEmailAcrossAddresses() {
+        LoginAttemptLimiter limiter = limiter(true, 3, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("ana@example.com", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> limiter.acquire(" Ana@Example.com ", "10.0.0.9"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfter())
+                        .isPositive()
+                        .isLessThanOrEqualTo(WINDOW));
+        assertThat(meterRegistry.counter("wallet.login.limited", "key", "email").count()).isEqualTo(1);
+        // Other accounts are not affected
+        assertThatCode(() -> limiter.acquire("bob@example.com", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void limitsAttemptsPerAddressAcrossEmails() {
+        LoginAttemptLimiter limiter = limiter(true, 100, 3);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThatThrownBy(() -> limiter.acquire("user9@example.com", "203.0.113.7"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("wallet.login.limited", "key", "ip").count()).isEqualTo(1);
+        assertThatCode(() -> limiter.acquire("user9@example.com", "203.0.113.8")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void aSuccessfulLoginClearsTheEmailWindow() {
+        LoginAttemptLimiter limiter = limiter(true, 2, 100);
+        limiter.acquire("ana@example.com", "10.0.0.1");
+        limiter.acquire("ana@example.com", "10.0.0.1");
+
+        limiter.succeeded("ANA@example.com");
+
+        assertThatCode(() -> limiter.acquire("ana@example.com", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void doesNothingWhenDisabled() {
+        LoginAttemptLimiter limiter = limiter(false, 1, 1);
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 10; i++) {
+                limiter.acquire("ana@example.com", "10.0.0.1");
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private LoginAttemptLimiter limiter(boolean enabled, int maxPerEmail, int maxPerAddress) {
+        return new LoginAttemptLimiter(meterRegistry, enabled, WINDOW, maxPerEmail, maxPerAddress, 1000);
+    }
+}
@@ -0,0 +1,108 @@
+package com.nexustrade.wallet.infrastructure.security;
+
+import com.nexustrade.wallet.domain.exception.TooManyRequestsException;
+import com.nexustrade.wallet.infrastructure.adapter.web.GlobalExceptionHandler;
+import com.nexustrade.wallet.infrastructure.adapter.web.dto.ErrorPayload;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class PasswordEncoderAdapterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch busy = new CountDownLatch(1);
+    private PasswordEncoderAdapter adapter;
+
+    @AfterEach
+    void tearDown() {
+        busy.countDown();
+        adapter.shutdown();
+    }
+
+    @Test
+    void hashesAndVerifiesOnThePool() {
+        adapter = new PasswordEncoderAdapter(meterRegistry, 4, 1, 4, Duration.ofSeconds(5));
+
+        String encoded = adapter.encode("s3cret");
+
+        assertThat(adapter.matches("s3cret", encoded)).isTrue();
+        assertThat(adapter.matches("wrong", encoded)).isFalse();
+        assertThat(adapter.needsRehash(encoded)).isFalse();
+        assertThat(adapter.needsRehash(encoded.replaceFirst("\\$04\\$", "\\$05\\$"))).isTrue();
+    }
+
+    @Test
+    void refusesWhenTheQueueIsFull() {
+        adapter = new PasswordEncoderAdapter(meterRegistry, 4, 1, 1, Duration.ofSeconds(5));
+        ThreadPoolExecutor executor = occupyWorker();
+        executor.execute(this::awaitBusy);
+
+        assertThatThrownBy(() -> adapter.matches("s3cret", "$2a$04$invalid"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("wallet.password.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesWhenTheCallerWaitsLongerThanTheTimeout() {
+        adapter = new PasswordEncoderAdapter(meterRegistry, 4, 1, 4, Duration.ofMillis(100));
+        occupyWorker();
+
+        assertThatThrownBy(() -> adapter.encode("s3cret"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(meterRegistry.counter("wallet.password.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void aRefusalIsAnsweredWith429AndRetryAfter() {
+        adapter = new PasswordEncoderAdapter(meterRegistry, 4, 1, 1, Duration.ofSeconds(5));
+        ThreadPoolExecutor executor = occupyWorker();
+        executor.execute(this::awaitBusy);
+        TooManyRequestsException refused = catchThrowableOfType(() -> adapter.encode("s3cret"),
+                TooManyRequestsException.class);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/wallet/v1/auth/login");
+
+        ResponseEntity<ErrorPayload> response = new GlobalExceptionHandler().handleTooManyRequests(refused, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody().getInstance()).isEqualTo("/api/wallet/v1/auth/login");
+    }
+
+    /**
+     * Keeps the only hashing thread busy until the test ends.
+     */
+    private ThreadPoolExecutor occupyWorker() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(adapter, "executor");
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitBusy();
+        });
+        try {
+            started.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return executor;
+    }
+
+    private void awaitBusy() {
+        try {
+            busy.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+// Compares wallet-java with platform vs virtual threads on the deposit and history endpoints.
+// See README.md in this directory for how to run it and how to record results.
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const USERS = parseInt(__ENV.USERS || '200', 10);
+const RATE = parseInt(__ENV.RATE || '500', 10);
+const DURATION = __ENV.DURATION || '2m';
+const SCENARIO = __ENV.SCENARIO || 'deposit';
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+    setupTimeout: '5m',
+    scenarios: {
+        [SCENARIO]: {
+            executor: 'constant-arrival-rate',
+            exec: SCENARIO,
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: Math.max(RATE, 100),
+            maxVUs: RATE * 4,
+        },
+    },
+    summaryTrendStats: ['avg', 'med', 'p(90)', 'p(99)', 'p(99.9)', 'max'],
+};
+
+// All logins come from this one address, so start the service with the login limiter switched off
+// (WALLET_AUTH_LOGIN_LIMITS_ENABLED=false); see README.md.
+export function setup() {
+    const run = Date.now();
+    const tokens = [];
+    for (let i = 0; i < USERS; i++) {
+        const email = `vt-bench-${run}-${i}@nexustrade.com`;
+        const password = 'benchmarkPassword';
+        http.post(`${BASE_URL}/v1/auth/register`,
+            JSON.stringify({ email, password, fullName: 'Benchmark User' }), { headers: JSON_HEADERS });
+        const login = http.post(`${BASE_URL}/v1/auth/login`,
+            JSON.stringify({ email, password }), { headers: JSON_HEADERS });
+        if (login.status !== 200) {
+            fail(`login of ${email} returned ${login.status}; is the login limiter switched off?`);
+        }
+        const token = login.json('accessToken');
+        // Seed some history so the history scenario reads real pages
+        for (let j = 0; j < 50; j++) {
+            http.post(`${BASE_URL}/v1/wallets/me/deposit`, JSON.stringify({ amount: 1 }),
+                { headers: authHeaders(token) });
+        }
+        tokens.push(token);
+    }
+    return { tokens };
+}
+
+export function deposit(data) {
+    const res = http.post(`${BASE_URL}/v1/wallets/me/deposit`, JSON.stringify({ amount: 1 }),
+        { headers: authHeaders(pick(data.tokens)), tags: { endpoint: 'deposit' } });
+    check(res, { 'deposit 200': (r) => r.status === 200 });
+}
+
+export function history(data) {
+    const res = http.get(`${BASE_URL}/v1/wallets/me/transactions?page=0&size=20`,
+        { headers: authHeaders(pick(data.tokens)), tags: { endpoint: 'history' } });
+    check(res, { 'history 200': (r) => r.status === 200 });
+}
+
+function pick(tokens) {
+    return tokens[Math.floor(Math.random() * tokens.length)];
+}
+
+function authHeaders(token) {
+    return Object.assign({ Authorization: `Bearer ${token}` }, JSON_HEADERS);
+}